@@ -0,0 +1,152 @@
+package com.brailsoft.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class AddressIndex {
+	private final NavigableMap<String, Set<Property>> postCodes = new TreeMap<>();
+	private final Map<String, Set<Property>> areas = new HashMap<>();
+	private final Map<String, Set<Property>> districts = new HashMap<>();
+	private final Map<String, Set<Property>> towns = new HashMap<>();
+	private final Map<String, Set<Property>> counties = new HashMap<>();
+
+	void add(Property property) {
+		if (property == null) {
+			throw new IllegalArgumentException("AddressIndex: property was null");
+		}
+		Address address = property.address();
+		PostCode postCode = address.postCode();
+		link(postCodes, postCodeKey(postCode), property);
+		link(areas, postCode.area(), property);
+		link(districts, postCode.outwardCode(), property);
+		link(towns, normalize(address.linesOfAddress()[1]), property);
+		link(counties, normalize(address.linesOfAddress()[2]), property);
+	}
+
+	void remove(Property property) {
+		if (property == null) {
+			throw new IllegalArgumentException("AddressIndex: property was null");
+		}
+		Address address = property.address();
+		PostCode postCode = address.postCode();
+		unlink(postCodes, postCodeKey(postCode), property);
+		unlink(areas, postCode.area(), property);
+		unlink(districts, postCode.outwardCode(), property);
+		unlink(towns, normalize(address.linesOfAddress()[1]), property);
+		unlink(counties, normalize(address.linesOfAddress()[2]), property);
+	}
+
+	void clear() {
+		postCodes.clear();
+		areas.clear();
+		districts.clear();
+		towns.clear();
+		counties.clear();
+	}
+
+	List<Property> inArea(String area) {
+		return entriesOf(areas.get(area.trim().toUpperCase(Locale.ROOT)));
+	}
+
+	List<Property> inDistrict(String district) {
+		return entriesOf(districts.get(district.replaceAll("\\s", "").toUpperCase(Locale.ROOT)));
+	}
+
+	List<Property> withPostCodePrefix(String prefix) {
+		Set<Property> matches = new TreeSet<>();
+		postCodesWithPrefix(prefix).values().stream()
+				.forEach(propertiesForPostCode -> matches.addAll(propertiesForPostCode));
+		return new ArrayList<>(matches);
+	}
+
+	int countWithPostCodePrefix(String prefix) {
+		return postCodesWithPrefix(prefix).values().stream().mapToInt(Set::size).sum();
+	}
+
+	List<Property> inTown(String town) {
+		return entriesOf(towns.get(normalize(town)));
+	}
+
+	List<Property> inCounty(String county) {
+		return entriesOf(counties.get(normalize(county)));
+	}
+
+	int countInTown(String town) {
+		return countOf(towns.get(normalize(town)));
+	}
+
+	int countInCounty(String county) {
+		return countOf(counties.get(normalize(county)));
+	}
+
+	static boolean matchesPostCodePrefix(PostCode postCode, String prefix) {
+		return postCodeKey(postCode).startsWith(normalizePrefix(prefix));
+	}
+
+	static boolean matchesTown(Address address, String town) {
+		return normalize(address.linesOfAddress()[1]).equals(normalize(town));
+	}
+
+	static boolean matchesCounty(Address address, String county) {
+		return normalize(address.linesOfAddress()[2]).equals(normalize(county));
+	}
+
+	private NavigableMap<String, Set<Property>> postCodesWithPrefix(String prefix) {
+		String normalized = normalizePrefix(prefix);
+		return postCodes.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+	}
+
+	private static String postCodeKey(PostCode postCode) {
+		return postCode.outwardCode() + " " + postCode.inwardCode();
+	}
+
+	private static String normalizePrefix(String prefix) {
+		String normalized = prefix.trim().toUpperCase(Locale.ROOT).replaceAll("\\s+", " ");
+		if (normalized.endsWith("*")) {
+			normalized = normalized.substring(0, normalized.length() - 1);
+		}
+		return normalized;
+	}
+
+	private static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		return text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private void link(Map<String, Set<Property>> index, String key, Property property) {
+		index.computeIfAbsent(key, k -> new TreeSet<>()).add(property);
+	}
+
+	private void unlink(Map<String, Set<Property>> index, String key, Property property) {
+		Set<Property> propertiesForKey = index.get(key);
+		if (propertiesForKey != null) {
+			propertiesForKey.remove(property);
+			if (propertiesForKey.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	private int countOf(Set<Property> propertiesForKey) {
+		if (propertiesForKey == null) {
+			return 0;
+		}
+		return propertiesForKey.size();
+	}
+
+	private List<Property> entriesOf(Set<Property> propertiesForKey) {
+		if (propertiesForKey == null) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(propertiesForKey);
+	}
+}
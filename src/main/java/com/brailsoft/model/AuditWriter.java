@@ -0,0 +1,183 @@
+package com.brailsoft.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Logger;
+
+import com.brailsoft.base.ApplicationConfiguration;
+import com.brailsoft.base.AuditService;
+
+public class AuditWriter {
+	private static final String CLASS_NAME = AuditWriter.class.getName();
+	private static final Logger LOGGER = ApplicationConfiguration.logger();
+
+	public static final int DEFAULT_CAPACITY = 1024;
+	public static final int DEFAULT_BATCH_SIZE = 64;
+
+	public enum Durability {
+		SYNCHRONOUS, QUEUED, BEST_EFFORT
+	}
+
+	private record AuditRecord(PropertyType type, PropertyObject object, String text) {
+	}
+
+	private final BlockingQueue<AuditRecord> queue;
+	private final int batchSize;
+	private Durability durability = Durability.QUEUED;
+	private Thread writer = null;
+	private long enqueued = 0;
+	private long written = 0;
+	private long dropped = 0;
+
+	public AuditWriter() {
+		this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+	}
+
+	public AuditWriter(int capacity, int batchSize) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("AuditWriter: capacity less than 1");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("AuditWriter: batchSize less than 1");
+		}
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+	}
+
+	public synchronized Durability durability() {
+		return durability;
+	}
+
+	public void setDurability(Durability durability) {
+		LOGGER.entering(CLASS_NAME, "setDurability", durability);
+		if (durability == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("AuditWriter: durability was null");
+			LOGGER.throwing(CLASS_NAME, "setDurability", exc);
+			LOGGER.exiting(CLASS_NAME, "setDurability");
+			throw exc;
+		}
+		flush();
+		synchronized (this) {
+			this.durability = durability;
+		}
+		LOGGER.exiting(CLASS_NAME, "setDurability");
+	}
+
+	public void write(PropertyType type, PropertyObject object, String text) {
+		AuditRecord record = new AuditRecord(type, object, text);
+		synchronized (this) {
+			if (durability == Durability.SYNCHRONOUS) {
+				awaitWritten(enqueued);
+				AuditService.writeAuditInformation(type, object, text);
+				return;
+			}
+			start();
+			while (!queue.offer(record)) {
+				if (durability == Durability.BEST_EFFORT) {
+					dropped++;
+					LOGGER.warning("AuditWriter: queue full, dropped " + type + " " + object);
+					return;
+				}
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					LOGGER.warning("AuditWriter: interrupted while queue full, dropped " + type + " " + object);
+					dropped++;
+					return;
+				}
+			}
+			enqueued++;
+		}
+	}
+
+	public void flush() {
+		LOGGER.entering(CLASS_NAME, "flush");
+		synchronized (this) {
+			awaitWritten(enqueued);
+		}
+		LOGGER.exiting(CLASS_NAME, "flush");
+	}
+
+	public void shutdown() {
+		LOGGER.entering(CLASS_NAME, "shutdown");
+		flush();
+		Thread stopping;
+		synchronized (this) {
+			stopping = writer;
+			writer = null;
+		}
+		if (stopping != null) {
+			stopping.interrupt();
+			try {
+				stopping.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		LOGGER.exiting(CLASS_NAME, "shutdown");
+	}
+
+	public synchronized int queued() {
+		return queue.size();
+	}
+
+	public synchronized long written() {
+		return written;
+	}
+
+	public synchronized long dropped() {
+		return dropped;
+	}
+
+	private void awaitWritten(long target) {
+		while (written < target && writer != null) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void start() {
+		if (writer != null) {
+			return;
+		}
+		writer = new Thread(() -> drain(), "AuditWriter");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	private void drain() {
+		List<AuditRecord> batch = new ArrayList<>(batchSize);
+		boolean stopping = false;
+		while (!stopping || !queue.isEmpty()) {
+			if (!stopping) {
+				try {
+					batch.add(queue.take());
+				} catch (InterruptedException e) {
+					stopping = true;
+				}
+			}
+			queue.drainTo(batch, batchSize - batch.size());
+			batch.stream().forEach(record -> writeRecord(record));
+			synchronized (this) {
+				written += batch.size();
+				notifyAll();
+			}
+			batch.clear();
+		}
+	}
+
+	private void writeRecord(AuditRecord record) {
+		try {
+			AuditService.writeAuditInformation(record.type(), record.object(), record.text());
+		} catch (Exception e) {
+			LOGGER.warning("AuditWriter: caught exception: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.brailsoft.model;
+
+import com.brailsoft.base.NotificationType;
+
+public enum BatchNotificationType implements NotificationType {
+	Add("batchadd"), Changed("batchchanged"), Removed("batchremoved");
+
+	private String type;
+
+	BatchNotificationType(String type) {
+		this.type = type;
+	}
+
+	public String type() {
+		return type;
+	}
+
+	@Override
+	public String category() {
+		return ModelConstants.BATCH_CATEGORY;
+	}
+}
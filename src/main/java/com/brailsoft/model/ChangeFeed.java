@@ -0,0 +1,213 @@
+package com.brailsoft.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.logging.Logger;
+
+import com.brailsoft.base.ApplicationConfiguration;
+
+public class ChangeFeed implements Flow.Publisher<ModelChange> {
+	private static final String CLASS_NAME = ChangeFeed.class.getName();
+	private static final Logger LOGGER = ApplicationConfiguration.logger();
+
+	public static final int DEFAULT_RETENTION = 4096;
+
+	private final ModelChange[] history;
+	private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final ExecutorService executor;
+	private long lastSequence = 0;
+
+	private class ChangeSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super ModelChange> subscriber;
+		private long next;
+		private long demand = 0;
+		private boolean started = false;
+		private boolean scheduled = false;
+		private boolean cancelled = false;
+		private Exception error = null;
+
+		ChangeSubscription(Flow.Subscriber<? super ModelChange> subscriber, long next) {
+			this.subscriber = subscriber;
+			this.next = next;
+		}
+
+		@Override
+		public void request(long n) {
+			synchronized (this) {
+				if (n < 1) {
+					if (error == null) {
+						error = new IllegalArgumentException("ChangeFeed: request less than 1");
+					}
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+			}
+			signal();
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (this) {
+				cancelled = true;
+			}
+			subscriptions.remove(this);
+		}
+
+		void start() {
+			try {
+				subscriber.onSubscribe(this);
+			} catch (Exception e) {
+				LOGGER.warning("ChangeFeed: caught exception: " + e.getMessage());
+				cancel();
+				return;
+			}
+			synchronized (this) {
+				started = true;
+			}
+			signal();
+		}
+
+		void signal() {
+			synchronized (this) {
+				if (!started || scheduled || cancelled) {
+					return;
+				}
+				scheduled = true;
+			}
+			executor.execute(() -> drain());
+		}
+
+		private void drain() {
+			while (true) {
+				long sequence;
+				Exception failure;
+				synchronized (this) {
+					if (cancelled) {
+						scheduled = false;
+						return;
+					}
+					failure = error;
+					if (failure == null && demand == 0) {
+						scheduled = false;
+						return;
+					}
+					sequence = next;
+				}
+				if (failure == null && sequence < firstRetained()) {
+					failure = new IllegalStateException("ChangeFeed: sequence " + sequence + " is no longer retained");
+				}
+				if (failure != null) {
+					fail(failure);
+					return;
+				}
+				ModelChange change = changeAt(sequence);
+				if (change == null) {
+					boolean failed;
+					synchronized (this) {
+						scheduled = false;
+						failed = error != null;
+					}
+					if (failed || sequence <= lastSequence()) {
+						signal();
+					}
+					return;
+				}
+				synchronized (this) {
+					next++;
+					demand--;
+				}
+				try {
+					subscriber.onNext(change.copy());
+				} catch (Exception e) {
+					LOGGER.warning("ChangeFeed: caught exception: " + e.getMessage());
+					cancel();
+					return;
+				}
+			}
+		}
+
+		private void fail(Exception exc) {
+			LOGGER.throwing(CLASS_NAME, "drain", exc);
+			cancel();
+			subscriber.onError(exc);
+		}
+	}
+
+	public ChangeFeed() {
+		this(DEFAULT_RETENTION);
+	}
+
+	public ChangeFeed(int retention) {
+		if (retention < 1) {
+			throw new IllegalArgumentException("ChangeFeed: retention less than 1");
+		}
+		this.history = new ModelChange[retention];
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "ChangeFeed");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super ModelChange> subscriber) {
+		subscribe(subscriber, lastSequence());
+	}
+
+	public void subscribe(Flow.Subscriber<? super ModelChange> subscriber, long afterSequence) {
+		LOGGER.entering(CLASS_NAME, "subscribe", new Object[] { subscriber, afterSequence });
+		if (subscriber == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("ChangeFeed: subscriber was null");
+			LOGGER.throwing(CLASS_NAME, "subscribe", exc);
+			LOGGER.exiting(CLASS_NAME, "subscribe");
+			throw exc;
+		}
+		if (afterSequence < 0) {
+			IllegalArgumentException exc = new IllegalArgumentException("ChangeFeed: afterSequence less than 0");
+			LOGGER.throwing(CLASS_NAME, "subscribe", exc);
+			LOGGER.exiting(CLASS_NAME, "subscribe");
+			throw exc;
+		}
+		ChangeSubscription subscription = new ChangeSubscription(subscriber, afterSequence + 1);
+		subscriptions.add(subscription);
+		executor.execute(() -> subscription.start());
+		LOGGER.exiting(CLASS_NAME, "subscribe");
+	}
+
+	public synchronized long lastSequence() {
+		return lastSequence;
+	}
+
+	public synchronized long firstRetained() {
+		return Math.max(1, lastSequence - history.length + 1);
+	}
+
+	public int subscribers() {
+		return subscriptions.size();
+	}
+
+	ModelChange append(PropertyType type, PropertyObject object, Object subject) {
+		ModelChange change;
+		synchronized (this) {
+			change = new ModelChange(lastSequence + 1, type, object, subject);
+			lastSequence = change.sequence();
+			history[slotOf(change.sequence())] = change;
+		}
+		subscriptions.stream().forEach(subscription -> subscription.signal());
+		return change;
+	}
+
+	private synchronized ModelChange changeAt(long sequence) {
+		if (sequence > lastSequence || sequence < firstRetained()) {
+			return null;
+		}
+		return history[slotOf(sequence)];
+	}
+
+	private int slotOf(long sequence) {
+		return (int) ((sequence - 1) % history.length);
+	}
+}
@@ -0,0 +1,277 @@
+package com.brailsoft.model;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.brailsoft.base.ApplicationConfiguration;
+import com.brailsoft.base.Notification;
+import com.brailsoft.base.NotificationCentre;
+import com.brailsoft.base.NotificationListener;
+
+public class DueDateScheduler {
+	private static final String CLASS_NAME = DueDateScheduler.class.getName();
+	private static final Logger LOGGER = ApplicationConfiguration.logger();
+
+	private record ItemKey(Property owner, String description) {
+		static ItemKey of(MonitoredItem item) {
+			return new ItemKey(item.ownerProperty().get(), item.description());
+		}
+	}
+
+	private record Transition(LocalDate when, ScheduleNotificationType type, ItemKey key, MonitoredItem item) {
+	}
+
+	private static final Comparator<Transition> TRANSITION_ORDER = Comparator.comparing(Transition::when)
+			.thenComparing(Transition::type).thenComparing(transition -> transition.key().owner())
+			.thenComparing(transition -> transition.key().description());
+
+	private final Clock clock;
+	private final NavigableSet<Transition> transitions = new TreeSet<>(TRANSITION_ORDER);
+	private final Map<ItemKey, MonitoredItem> scheduled = new HashMap<>();
+	private final Map<Property, Set<ItemKey>> keysByOwner = new HashMap<>();
+	private final Map<ItemKey, List<Transition>> pending = new HashMap<>();
+	private ScheduledExecutorService timer = null;
+	private ScheduledFuture<?> wakeUp = null;
+	private LocalDate wakeUpDate = null;
+
+	private final NotificationListener listener = new NotificationListener() {
+		@Override
+		public void notify(Notification notification) {
+			if (notification.notificationType() instanceof MonitoredItemNotificationType) {
+				handleMonitoredItem(notification);
+			} else if (notification.notificationType() instanceof PropertyNotificationType) {
+				handleProperty(notification);
+			}
+		}
+	};
+
+	public DueDateScheduler() {
+		this(Clock.systemDefaultZone());
+	}
+
+	public DueDateScheduler(Clock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("DueDateScheduler: clock was null");
+		}
+		this.clock = clock;
+	}
+
+	public synchronized void start() {
+		LOGGER.entering(CLASS_NAME, "start");
+		if (timer != null) {
+			IllegalStateException exc = new IllegalStateException("DueDateScheduler: already started");
+			LOGGER.throwing(CLASS_NAME, "start", exc);
+			LOGGER.exiting(CLASS_NAME, "start");
+			throw exc;
+		}
+		timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "DueDateScheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		NotificationCentre.addListener(listener);
+		PropertyMonitor.instance().getAllItems().stream().forEach(item -> schedule(item));
+		armTimer();
+		LOGGER.exiting(CLASS_NAME, "start");
+	}
+
+	public synchronized void stop() {
+		LOGGER.entering(CLASS_NAME, "stop");
+		NotificationCentre.removeListener(listener);
+		if (timer != null) {
+			timer.shutdownNow();
+			timer = null;
+		}
+		wakeUp = null;
+		wakeUpDate = null;
+		transitions.clear();
+		scheduled.clear();
+		keysByOwner.clear();
+		pending.clear();
+		LOGGER.exiting(CLASS_NAME, "stop");
+	}
+
+	public synchronized void schedule(MonitoredItem item) {
+		LOGGER.entering(CLASS_NAME, "schedule", item);
+		if (item == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("DueDateScheduler: item was null");
+			LOGGER.throwing(CLASS_NAME, "schedule", exc);
+			LOGGER.exiting(CLASS_NAME, "schedule");
+			throw exc;
+		}
+		LocalDate today = LocalDate.now(clock);
+		MonitoredItem entry = new MonitoredItem(item);
+		ItemKey key = ItemKey.of(entry);
+		MonitoredItem previous = scheduled.put(key, entry);
+		keysByOwner.computeIfAbsent(key.owner(), owner -> new HashSet<>()).add(key);
+		unlink(key);
+		if (previous != null) {
+			if (!previous.overdue(today) && entry.overdue(today)) {
+				broadcast(ScheduleNotificationType.Overdue, entry);
+			} else if (!previous.noticeDue(today) && entry.noticeDue(today) && !entry.overdue(today)) {
+				broadcast(ScheduleNotificationType.NoticeDue, entry);
+			}
+		}
+		LocalDate noticeDue = entry.timeForNextNotice().plusDays(1);
+		if (noticeDue.isAfter(today)) {
+			link(new Transition(noticeDue, ScheduleNotificationType.NoticeDue, key, entry));
+		}
+		LocalDate overdue = entry.timeForNextAction().plusDays(1);
+		if (overdue.isAfter(today)) {
+			link(new Transition(overdue, ScheduleNotificationType.Overdue, key, entry));
+		}
+		armTimer();
+		LOGGER.exiting(CLASS_NAME, "schedule");
+	}
+
+	public synchronized void cancel(MonitoredItem item) {
+		LOGGER.entering(CLASS_NAME, "cancel", item);
+		if (item == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("DueDateScheduler: item was null");
+			LOGGER.throwing(CLASS_NAME, "cancel", exc);
+			LOGGER.exiting(CLASS_NAME, "cancel");
+			throw exc;
+		}
+		ItemKey key = ItemKey.of(item);
+		scheduled.remove(key);
+		Set<ItemKey> keys = keysByOwner.get(key.owner());
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				keysByOwner.remove(key.owner());
+			}
+		}
+		unlink(key);
+		LOGGER.exiting(CLASS_NAME, "cancel");
+	}
+
+	public synchronized void cancel(Property property) {
+		LOGGER.entering(CLASS_NAME, "cancel", property);
+		if (property == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("DueDateScheduler: property was null");
+			LOGGER.throwing(CLASS_NAME, "cancel", exc);
+			LOGGER.exiting(CLASS_NAME, "cancel");
+			throw exc;
+		}
+		Set<ItemKey> keys = keysByOwner.remove(property);
+		if (keys != null) {
+			keys.stream().forEach(key -> {
+				scheduled.remove(key);
+				unlink(key);
+			});
+		}
+		LOGGER.exiting(CLASS_NAME, "cancel");
+	}
+
+	public synchronized LocalDate nextTransition() {
+		LOGGER.entering(CLASS_NAME, "nextTransition");
+		LocalDate next = transitions.isEmpty() ? null : transitions.first().when();
+		LOGGER.exiting(CLASS_NAME, "nextTransition", next);
+		return next;
+	}
+
+	synchronized int pendingTransitions() {
+		return transitions.size();
+	}
+
+	public synchronized int processDueTransitions() {
+		LOGGER.entering(CLASS_NAME, "processDueTransitions");
+		LocalDate today = LocalDate.now(clock);
+		int fired = 0;
+		while (!transitions.isEmpty() && !transitions.first().when().isAfter(today)) {
+			Transition transition = transitions.pollFirst();
+			List<Transition> forKey = pending.get(transition.key());
+			forKey.remove(transition);
+			if (forKey.isEmpty()) {
+				pending.remove(transition.key());
+			}
+			if (transition.type() == ScheduleNotificationType.Overdue || !transition.item().overdue(today)) {
+				broadcast(transition.type(), transition.item());
+				fired++;
+			}
+		}
+		wakeUpDate = null;
+		armTimer();
+		LOGGER.exiting(CLASS_NAME, "processDueTransitions", fired);
+		return fired;
+	}
+
+	private void handleMonitoredItem(Notification notification) {
+		MonitoredItemNotificationType type = (MonitoredItemNotificationType) notification.notificationType();
+		switch (type) {
+			case Add, Changed -> schedule((MonitoredItem) notification.subject().get());
+			case Removed -> cancel((MonitoredItem) notification.subject().get());
+			case Failed -> ignore();
+		}
+	}
+
+	private void handleProperty(Notification notification) {
+		PropertyNotificationType type = (PropertyNotificationType) notification.notificationType();
+		switch (type) {
+			case Removed -> cancel((Property) notification.subject().get());
+			case Changed -> reschedule((PropertyReplacement) notification.subject().get());
+			case Add, Failed -> ignore();
+		}
+	}
+
+	private synchronized void reschedule(PropertyReplacement replacement) {
+		cancel(replacement.oldProperty());
+		replacement.newProperty().monitoredItems().stream().forEach(item -> schedule(item));
+	}
+
+	private void ignore() {
+	}
+
+	private void link(Transition transition) {
+		transitions.add(transition);
+		pending.computeIfAbsent(transition.key(), key -> new ArrayList<>()).add(transition);
+	}
+
+	private void unlink(ItemKey key) {
+		List<Transition> superseded = pending.remove(key);
+		if (superseded != null) {
+			superseded.stream().forEach(transition -> transitions.remove(transition));
+		}
+	}
+
+	private void broadcast(ScheduleNotificationType type, MonitoredItem item) {
+		LOGGER.fine("DueDateScheduler: " + item + " is now " + type.type());
+		Notification notification = new Notification(type, this, new MonitoredItem(item));
+		NotificationCentre.broadcast(notification);
+	}
+
+	private void armTimer() {
+		if (timer == null) {
+			return;
+		}
+		if (transitions.isEmpty()) {
+			return;
+		}
+		LocalDate next = transitions.first().when();
+		if (wakeUpDate != null && !next.isBefore(wakeUpDate)) {
+			return;
+		}
+		if (wakeUp != null) {
+			wakeUp.cancel(false);
+		}
+		long delay = Math.max(0,
+				Duration.between(clock.instant(), next.atStartOfDay(clock.getZone()).toInstant()).toMillis());
+		wakeUpDate = next;
+		wakeUp = timer.schedule(() -> processDueTransitions(), delay, TimeUnit.MILLISECONDS);
+	}
+}
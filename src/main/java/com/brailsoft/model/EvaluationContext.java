@@ -0,0 +1,26 @@
+package com.brailsoft.model;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+public record EvaluationContext(LocalDate asOf) {
+	public EvaluationContext {
+		if (asOf == null) {
+			throw new IllegalArgumentException("EvaluationContext: asOf was null");
+		}
+	}
+
+	public static EvaluationContext of(Clock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("EvaluationContext: clock was null");
+		}
+		return new EvaluationContext(LocalDate.now(clock));
+	}
+
+	public static EvaluationContext asOf(LocalDate date) {
+		if (date == null) {
+			throw new IllegalArgumentException("EvaluationContext: date was null");
+		}
+		return new EvaluationContext(date);
+	}
+}
@@ -0,0 +1,85 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class Forecast {
+	private static final Comparator<Cursor> MERGE_ORDER = Comparator.comparing((Cursor cursor) -> cursor.action)
+			.thenComparing(cursor -> cursor.address).thenComparing(cursor -> cursor.entry.description());
+
+	private static class Cursor {
+		private final MonitoredItem entry;
+		private final Address address;
+		private LocalDate action;
+
+		Cursor(MonitoredItem entry, LocalDate from) {
+			this.entry = entry;
+			this.address = new Address(entry.ownerProperty().get().address());
+			this.action = entry.timeForNextAction();
+			while (action != null && action.isBefore(from)) {
+				advance();
+			}
+		}
+
+		Occurrence occurrence() {
+			return new Occurrence(address, entry.description(), entry.periodForNextAction(),
+					entry.timeForNoticeBefore(action), action);
+		}
+
+		void advance() {
+			LocalDate next = entry.timeForActionAfter(action);
+			action = next.isAfter(action) ? next : null;
+		}
+	}
+
+	private static class MergeSpliterator extends Spliterators.AbstractSpliterator<Occurrence> {
+		private final List<MonitoredItem> entries;
+		private final LocalDate from;
+		private final LocalDate to;
+		private PriorityQueue<Cursor> heap = null;
+
+		MergeSpliterator(List<MonitoredItem> entries, LocalDate from, LocalDate to) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.entries = entries;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Occurrence> action) {
+			if (heap == null) {
+				heap = new PriorityQueue<>(Math.max(1, entries.size()), MERGE_ORDER);
+				entries.stream().map(entry -> new Cursor(entry, from)).filter(cursor -> within(cursor))
+						.forEach(cursor -> heap.add(cursor));
+			}
+			Cursor cursor = heap.poll();
+			if (cursor == null) {
+				return false;
+			}
+			action.accept(cursor.occurrence());
+			cursor.advance();
+			if (within(cursor)) {
+				heap.add(cursor);
+			}
+			return true;
+		}
+
+		private boolean within(Cursor cursor) {
+			return cursor.action != null && !cursor.action.isAfter(to);
+		}
+	}
+
+	static Stream<Occurrence> of(List<MonitoredItem> entries, LocalDate from, LocalDate to) {
+		if (entries == null) {
+			throw new IllegalArgumentException("Forecast: entries was null");
+		}
+		return StreamSupport.stream(new MergeSpliterator(entries, from, to), false);
+	}
+}
@@ -0,0 +1,244 @@
+package com.brailsoft.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class InventoryIndex {
+	private static final Comparator<InventoryItem> INVENTORY_ORDER = Comparator.<InventoryItem>naturalOrder()
+			.thenComparing(InventoryItem::owner).thenComparing(InventoryItem::description);
+
+	private record ModelKey(String manufacturer, String model) {
+		static ModelKey of(String manufacturer, String model) {
+			return new ModelKey(normalize(manufacturer), normalize(model));
+		}
+	}
+
+	private final NavigableMap<String, Set<InventoryItem>> tokens = new TreeMap<>();
+	private final Map<String, Set<InventoryItem>> serialNumbers = new HashMap<>();
+	private final Map<ModelKey, Set<InventoryItem>> models = new HashMap<>();
+	private final Set<String> duplicateSerialNumbers = new TreeSet<>();
+	private final Map<Property, Map<String, InventoryItem>> entries = new HashMap<>();
+
+	void add(InventoryItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("InventoryIndex: item was null");
+		}
+		InventoryItem entry = new InventoryItem(item);
+		Map<String, InventoryItem> itemsForOwner = entries.computeIfAbsent(entry.owner(), owner -> new HashMap<>());
+		InventoryItem previous = itemsForOwner.put(entry.description(), entry);
+		if (previous != null) {
+			unlink(previous);
+		}
+		link(entry);
+	}
+
+	void setVersionOf(InventoryItem item, long version) {
+		Map<String, InventoryItem> itemsForOwner = entries.get(item.owner());
+		InventoryItem entry = itemsForOwner == null ? null : itemsForOwner.get(item.description());
+		if (entry != null) {
+			InventoryItem stamped = new InventoryItem(entry);
+			stamped.setVersion(version);
+			add(stamped);
+		}
+	}
+
+	void remove(InventoryItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("InventoryIndex: item was null");
+		}
+		Property owner = item.owner();
+		Map<String, InventoryItem> itemsForOwner = entries.get(owner);
+		if (itemsForOwner == null) {
+			return;
+		}
+		InventoryItem previous = itemsForOwner.remove(item.description());
+		if (previous != null) {
+			unlink(previous);
+		}
+		if (itemsForOwner.isEmpty()) {
+			entries.remove(owner);
+		}
+	}
+
+	void remove(Property property) {
+		if (property == null) {
+			throw new IllegalArgumentException("InventoryIndex: property was null");
+		}
+		Map<String, InventoryItem> itemsForOwner = entries.remove(property);
+		if (itemsForOwner != null) {
+			itemsForOwner.values().stream().forEach(entry -> unlink(entry));
+		}
+	}
+
+	void clear() {
+		tokens.clear();
+		serialNumbers.clear();
+		models.clear();
+		duplicateSerialNumbers.clear();
+		entries.clear();
+	}
+
+	Collection<InventoryItem> entriesFor(Property property) {
+		Map<String, InventoryItem> itemsForOwner = entries.get(property);
+		if (itemsForOwner == null) {
+			return List.of();
+		}
+		return itemsForOwner.values();
+	}
+
+	List<InventoryItem> search(String text) {
+		Set<String> wanted = tokensOf(text);
+		if (wanted.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Set<InventoryItem> matches = null;
+		for (String token : wanted) {
+			Set<InventoryItem> itemsForToken = tokens.get(token);
+			if (itemsForToken == null) {
+				return new ArrayList<>();
+			}
+			if (matches == null) {
+				matches = new TreeSet<>(INVENTORY_ORDER);
+				matches.addAll(itemsForToken);
+			} else {
+				matches.retainAll(itemsForToken);
+			}
+		}
+		return copyOf(matches);
+	}
+
+	List<InventoryItem> searchPrefix(String prefix) {
+		String normalized = normalize(prefix);
+		if (normalized.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Set<InventoryItem> matches = new TreeSet<>(INVENTORY_ORDER);
+		tokens.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values().stream()
+				.forEach(itemsForToken -> matches.addAll(itemsForToken));
+		return copyOf(matches);
+	}
+
+	Map<String, Set<Property>> ownersOfSerialNumbers(Iterable<String> wanted) {
+		Map<String, Set<Property>> result = new TreeMap<>();
+		for (String serialNumber : wanted) {
+			Set<InventoryItem> itemsForSerialNumber = serialNumbers.get(normalizeSerialNumber(serialNumber));
+			if (itemsForSerialNumber != null) {
+				result.put(serialNumber, ownersOf(itemsForSerialNumber));
+			}
+		}
+		return result;
+	}
+
+	Set<Property> ownersOfModel(String manufacturer, String model) {
+		Set<InventoryItem> itemsForModel = models.get(ModelKey.of(manufacturer, model));
+		if (itemsForModel == null) {
+			return new TreeSet<>();
+		}
+		return ownersOf(itemsForModel);
+	}
+
+	Map<String, Set<Property>> duplicateSerialNumbers() {
+		Map<String, Set<Property>> result = new TreeMap<>();
+		duplicateSerialNumbers.stream()
+				.forEach(serialNumber -> result.put(serialNumber, ownersOf(serialNumbers.get(serialNumber))));
+		return result;
+	}
+
+	private void link(InventoryItem entry) {
+		tokensOf(entry).stream()
+				.forEach(token -> tokens.computeIfAbsent(token, key -> new TreeSet<>(INVENTORY_ORDER)).add(entry));
+		String serialNumber = normalizeSerialNumber(entry.serialNumber());
+		if (!serialNumber.isEmpty()) {
+			Set<InventoryItem> itemsForSerialNumber = serialNumbers.computeIfAbsent(serialNumber,
+					key -> new TreeSet<>(INVENTORY_ORDER));
+			itemsForSerialNumber.add(entry);
+			if (ownersOf(itemsForSerialNumber).size() > 1) {
+				duplicateSerialNumbers.add(serialNumber);
+			}
+		}
+		models.computeIfAbsent(ModelKey.of(entry.manufacturer(), entry.model()),
+				key -> new TreeSet<>(INVENTORY_ORDER)).add(entry);
+	}
+
+	private void unlink(InventoryItem entry) {
+		tokensOf(entry).stream().forEach(token -> unlink(tokens, token, entry));
+		String serialNumber = normalizeSerialNumber(entry.serialNumber());
+		if (!serialNumber.isEmpty()) {
+			unlink(serialNumbers, serialNumber, entry);
+			Set<InventoryItem> itemsForSerialNumber = serialNumbers.get(serialNumber);
+			if (itemsForSerialNumber == null || ownersOf(itemsForSerialNumber).size() < 2) {
+				duplicateSerialNumbers.remove(serialNumber);
+			}
+		}
+		unlink(models, ModelKey.of(entry.manufacturer(), entry.model()), entry);
+	}
+
+	private <K> void unlink(Map<K, Set<InventoryItem>> index, K key, InventoryItem entry) {
+		Set<InventoryItem> itemsForKey = index.get(key);
+		if (itemsForKey != null) {
+			itemsForKey.remove(entry);
+			if (itemsForKey.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	private Set<Property> ownersOf(Set<InventoryItem> matches) {
+		Set<Property> owners = new TreeSet<>();
+		matches.stream().forEach(entry -> owners.add(entry.owner()));
+		return owners;
+	}
+
+	private Set<String> tokensOf(InventoryItem entry) {
+		Set<String> result = new HashSet<>();
+		for (String field : new String[] { entry.description(), entry.manufacturer(), entry.model(),
+				entry.serialNumber(), entry.supplier() }) {
+			result.addAll(tokensOf(field));
+			String normalized = normalize(field);
+			if (!normalized.isEmpty()) {
+				result.add(normalized);
+			}
+		}
+		return result;
+	}
+
+	private Set<String> tokensOf(String text) {
+		Set<String> result = new HashSet<>();
+		for (String token : normalize(text).split("[^\\p{Alnum}]+")) {
+			if (!token.isEmpty()) {
+				result.add(token);
+			}
+		}
+		return result;
+	}
+
+	private static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		return text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static String normalizeSerialNumber(String serialNumber) {
+		if (serialNumber == null) {
+			return "";
+		}
+		return serialNumber.trim().toUpperCase(Locale.ROOT);
+	}
+
+	private List<InventoryItem> copyOf(Set<InventoryItem> matches) {
+		List<InventoryItem> copyList = new ArrayList<>();
+		matches.stream().forEach(entry -> copyList.add(new InventoryItem(entry)));
+		return copyList;
+	}
+}
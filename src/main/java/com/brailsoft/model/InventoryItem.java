@@ -24,6 +24,7 @@ public class InventoryItem implements Comparable<InventoryItem> {
 	private StringProperty supplier = new SimpleStringProperty(this, "supplier", "");
 	private StringProperty purchaseDate = new SimpleStringProperty(this, "puchaseDate", null);
 	private ObjectProperty<Property> owner = new SimpleObjectProperty<>(this, "owner", null);
+	private long version = 0;
 
 	public InventoryItem(String description, String manufacturer, String model, String serialNumber, String supplier,
 			LocalDate purchaseDateAsDate) {
@@ -61,6 +62,7 @@ public class InventoryItem implements Comparable<InventoryItem> {
 		this.serialNumber.set(that.serialNumber.get());
 		this.supplier.set(that.supplier.get());
 		this.purchaseDate.set(that.purchaseDate.get());
+		this.version = that.version;
 		if (that.owner.get() != null) {
 			this.owner.set(new Property(that.owner.get()));
 		} else {
@@ -192,6 +194,14 @@ public class InventoryItem implements Comparable<InventoryItem> {
 		return owner;
 	}
 
+	public long version() {
+		return version;
+	}
+
+	void setVersion(long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(description.get());
@@ -0,0 +1,39 @@
+package com.brailsoft.model;
+
+public record ModelChange(long sequence, PropertyType type, PropertyObject object, Object subject) {
+	public ModelChange {
+		if (sequence < 1) {
+			throw new IllegalArgumentException("ModelChange: sequence less than 1");
+		}
+		if (type == null) {
+			throw new IllegalArgumentException("ModelChange: type was null");
+		}
+		if (object == null) {
+			throw new IllegalArgumentException("ModelChange: object was null");
+		}
+		if (subject == null) {
+			throw new IllegalArgumentException("ModelChange: subject was null");
+		}
+	}
+
+	ModelChange copy() {
+		return new ModelChange(sequence, type, object, copyOf(subject));
+	}
+
+	private static Object copyOf(Object subject) {
+		if (subject instanceof Property property) {
+			return new Property(property);
+		}
+		if (subject instanceof MonitoredItem item) {
+			return new MonitoredItem(item);
+		}
+		if (subject instanceof InventoryItem item) {
+			return new InventoryItem(item);
+		}
+		if (subject instanceof PropertyReplacement replacement) {
+			return new PropertyReplacement(new Property(replacement.oldProperty()),
+					new Property(replacement.newProperty()));
+		}
+		return subject;
+	}
+}
@@ -7,6 +7,8 @@ public interface ModelConstants {
 	public static final String PROPERTY_CATEGORY = "property";
 	public static final String MONITORED_ITEM_CATEGORY = "monitoreditem";
 	public static final String INVENTORY_ITEM_CATEGORY = "inventoryitem";
+	public static final String SCHEDULE_CATEGORY = "schedule";
+	public static final String BATCH_CATEGORY = "batch";
 
 	public static final String PROPERTY_FILE = "property.dat";
 	public static final String MODEL = "model";
@@ -31,6 +31,7 @@ public class MonitoredItem implements Comparable<MonitoredItem> {
 	private ObjectProperty<Period> periodForNextNotice = new SimpleObjectProperty<>(this, "periodForNextNotice", null);;
 	private IntegerProperty advanceNotice = new SimpleIntegerProperty(this, "advanceNotice", 0);
 	private ObjectProperty<Property> owner = new SimpleObjectProperty<>(this, "owner", null);
+	private long version = 0;
 	private ObjectProperty<LocalDate> emailSentOn = new SimpleObjectProperty<>(this, "emailSentOn", null);
 
 	private final StringBinding lastActionBinding = new StringBinding() {
@@ -139,6 +140,7 @@ public class MonitoredItem implements Comparable<MonitoredItem> {
 		this.timeForNextAction.set(that.timeForNextAction.get());
 		this.timeForNextNotice.set(that.timeForNextNotice.get());
 		this.emailSentOn.set(that.emailSentOn.get());
+		this.version = that.version;
 		if (that.owner.get() != null) {
 			this.owner.set(new Property(that.owner.get()));
 		} else {
@@ -234,6 +236,14 @@ public class MonitoredItem implements Comparable<MonitoredItem> {
 		return owner;
 	}
 
+	public long version() {
+		return version;
+	}
+
+	void setVersion(long version) {
+		this.version = version;
+	}
+
 	public String description() {
 		return description.get();
 	}
@@ -351,6 +361,14 @@ public class MonitoredItem implements Comparable<MonitoredItem> {
 		}
 	}
 
+	LocalDate timeForActionAfter(LocalDate actioned) {
+		return calculateTimeForNextAction(periodForNextAction.get(), noticeEvery.get(), actioned);
+	}
+
+	LocalDate timeForNoticeBefore(LocalDate action) {
+		return calculateTimeForNextNotice(periodForNextNotice.get(), advanceNotice.get(), action);
+	}
+
 	private LocalDate calculateTimeForNextNotice(Period periodForNextNotice, int advanceNotice,
 			LocalDate timeForNextAction) {
 		var result = switch (periodForNextNotice) {
@@ -0,0 +1,162 @@
+package com.brailsoft.model;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.brailsoft.base.Notification;
+import com.brailsoft.base.NotificationCentre;
+import com.brailsoft.base.NotificationType;
+
+class NotificationBatcher {
+	static final long DEFAULT_WINDOW_MILLIS = 50;
+
+	private record Pending(BatchNotificationType type, Object entity) {
+	}
+
+	private final Object source;
+	private final long windowMillis;
+	private final ScheduledExecutorService dispatcher;
+	private final Map<List<Object>, Pending> pending = new LinkedHashMap<>();
+	private int depth = 0;
+	private boolean flushScheduled = false;
+
+	NotificationBatcher(Object source, long windowMillis) {
+		if (source == null) {
+			throw new IllegalArgumentException("NotificationBatcher: source was null");
+		}
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException("NotificationBatcher: windowMillis less than 0");
+		}
+		this.source = source;
+		this.windowMillis = windowMillis;
+		this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "NotificationBatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	synchronized void begin() {
+		depth++;
+	}
+
+	synchronized void commit() {
+		if (depth == 0) {
+			throw new IllegalStateException("NotificationBatcher: no transaction in progress");
+		}
+		depth--;
+		if (depth == 0 && !pending.isEmpty()) {
+			scheduleFlush(0);
+		}
+	}
+
+	synchronized void record(Notification notification) {
+		BatchNotificationType type = batchTypeOf(notification.notificationType());
+		Object entity = notification.subject().orElse(null);
+		if (type == null || entity == null) {
+			return;
+		}
+		coalesce(keyOf(entity), new Pending(type, entity));
+		if (depth == 0 && !flushScheduled) {
+			scheduleFlush(windowMillis);
+		}
+	}
+
+	void flush() {
+		Map<BatchNotificationType, List<Object>> batches = new EnumMap<>(BatchNotificationType.class);
+		synchronized (this) {
+			flushScheduled = false;
+			if (depth > 0) {
+				return;
+			}
+			pending.values().stream().forEach(
+					entry -> batches.computeIfAbsent(entry.type(), type -> new ArrayList<>()).add(entry.entity()));
+			pending.clear();
+		}
+		batches.entrySet().stream().forEach(batch -> NotificationCentre
+				.broadcast(new Notification(batch.getKey(), source, List.copyOf(batch.getValue()))));
+	}
+
+	private void scheduleFlush(long delay) {
+		flushScheduled = true;
+		dispatcher.schedule(() -> flush(), delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void coalesce(List<Object> key, Pending next) {
+		Pending previous = pending.get(key);
+		if (previous == null) {
+			pending.put(key, next);
+			return;
+		}
+		BatchNotificationType type = coalesce(previous.type(), next.type());
+		if (type == null) {
+			pending.remove(key);
+		} else {
+			pending.put(key, new Pending(type, next.entity()));
+		}
+	}
+
+	static BatchNotificationType coalesce(BatchNotificationType previous, BatchNotificationType next) {
+		return switch (previous) {
+			case Add -> next == BatchNotificationType.Removed ? null : BatchNotificationType.Add;
+			case Changed -> next;
+			case Removed -> next == BatchNotificationType.Add ? BatchNotificationType.Changed : next;
+		};
+	}
+
+	static NotificationType notificationTypeOf(NotificationType family, BatchNotificationType type) {
+		if (family instanceof MonitoredItemNotificationType) {
+			return switch (type) {
+				case Add -> MonitoredItemNotificationType.Add;
+				case Changed -> MonitoredItemNotificationType.Changed;
+				case Removed -> MonitoredItemNotificationType.Removed;
+			};
+		}
+		if (family instanceof InventoryItemNotificationType) {
+			return switch (type) {
+				case Add -> InventoryItemNotificationType.Add;
+				case Changed -> InventoryItemNotificationType.Changed;
+				case Removed -> InventoryItemNotificationType.Removed;
+			};
+		}
+		return switch (type) {
+			case Add -> PropertyNotificationType.Add;
+			case Changed -> PropertyNotificationType.Changed;
+			case Removed -> PropertyNotificationType.Removed;
+		};
+	}
+
+	static BatchNotificationType batchTypeOf(NotificationType notificationType) {
+		if (notificationType == PropertyNotificationType.Add || notificationType == MonitoredItemNotificationType.Add
+				|| notificationType == InventoryItemNotificationType.Add) {
+			return BatchNotificationType.Add;
+		}
+		if (notificationType == PropertyNotificationType.Changed
+				|| notificationType == MonitoredItemNotificationType.Changed
+				|| notificationType == InventoryItemNotificationType.Changed) {
+			return BatchNotificationType.Changed;
+		}
+		if (notificationType == PropertyNotificationType.Removed
+				|| notificationType == MonitoredItemNotificationType.Removed
+				|| notificationType == InventoryItemNotificationType.Removed) {
+			return BatchNotificationType.Removed;
+		}
+		return null;
+	}
+
+	static List<Object> keyOf(Object entity) {
+		if (entity instanceof MonitoredItem item) {
+			return List.of(MonitoredItem.class, item.ownerProperty().get(), item.description());
+		}
+		if (entity instanceof InventoryItem item) {
+			return List.of(InventoryItem.class, item.owner(), item.description());
+		}
+		return List.of(entity.getClass(), entity);
+	}
+}
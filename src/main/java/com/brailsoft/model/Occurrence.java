@@ -0,0 +1,20 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+
+public record Occurrence(Address address, String description, Period period, LocalDate notice, LocalDate action) {
+	public Occurrence {
+		if (address == null) {
+			throw new IllegalArgumentException("Occurrence: address was null");
+		}
+		if (description == null) {
+			throw new IllegalArgumentException("Occurrence: description was null");
+		}
+		if (notice == null) {
+			throw new IllegalArgumentException("Occurrence: notice was null");
+		}
+		if (action == null) {
+			throw new IllegalArgumentException("Occurrence: action was null");
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.brailsoft.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.brailsoft.base.ApplicationConfiguration;
+
+class Outbox {
+	private static final String CLASS_NAME = Outbox.class.getName();
+	private static final Logger LOGGER = ApplicationConfiguration.logger();
+
+	private ExecutorService dispatcher = null;
+	private Thread dispatcherThread = null;
+	private long appended = 0;
+	private long dispatched = 0;
+
+	synchronized long append(Runnable sideEffects) {
+		if (sideEffects == null) {
+			throw new IllegalArgumentException("Outbox: sideEffects was null");
+		}
+		start();
+		long sequence = ++appended;
+		dispatcher.execute(() -> dispatch(sequence, sideEffects));
+		return sequence;
+	}
+
+	void flush() {
+		LOGGER.entering(CLASS_NAME, "flush");
+		synchronized (this) {
+			if (Thread.currentThread() == dispatcherThread) {
+				LOGGER.exiting(CLASS_NAME, "flush");
+				return;
+			}
+			long target = appended;
+			while (dispatched < target && dispatcher != null) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		LOGGER.exiting(CLASS_NAME, "flush");
+	}
+
+	void shutdown() {
+		LOGGER.entering(CLASS_NAME, "shutdown");
+		flush();
+		ExecutorService stopping;
+		synchronized (this) {
+			stopping = dispatcher;
+			dispatcher = null;
+			notifyAll();
+		}
+		if (stopping != null) {
+			stopping.shutdown();
+			try {
+				stopping.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		LOGGER.exiting(CLASS_NAME, "shutdown");
+	}
+
+	synchronized long appended() {
+		return appended;
+	}
+
+	synchronized long dispatched() {
+		return dispatched;
+	}
+
+	private void start() {
+		if (dispatcher != null) {
+			return;
+		}
+		dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Outbox");
+			thread.setDaemon(true);
+			synchronized (this) {
+				dispatcherThread = thread;
+			}
+			return thread;
+		});
+	}
+
+	private void dispatch(long sequence, Runnable sideEffects) {
+		try {
+			sideEffects.run();
+		} catch (Exception e) {
+			LOGGER.warning("Outbox: entry " + sequence + " caught exception: " + e.getMessage());
+		} finally {
+			synchronized (this) {
+				dispatched = sequence;
+				notifyAll();
+			}
+		}
+	}
+}
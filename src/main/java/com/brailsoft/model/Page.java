@@ -0,0 +1,20 @@
+package com.brailsoft.model;
+
+import java.util.List;
+
+public record Page<T>(List<T> items, int offset, int total) {
+	public Page {
+		if (items == null) {
+			throw new IllegalArgumentException("Page: items was null");
+		}
+		items = List.copyOf(items);
+	}
+
+	public boolean hasNext() {
+		return nextOffset() < total;
+	}
+
+	public int nextOffset() {
+		return offset + items.size();
+	}
+}
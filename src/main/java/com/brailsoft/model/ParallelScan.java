@@ -0,0 +1,95 @@
+package com.brailsoft.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+class ParallelScan {
+	static final int DEFAULT_THRESHOLD = 512;
+
+	private static class ScanTask<T extends Comparable<? super T>> extends RecursiveTask<List<T>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Property[] snapshot;
+		private final int from;
+		private final int to;
+		private final int threshold;
+		private final Function<Property, List<T>> mapper;
+
+		ScanTask(Property[] snapshot, int from, int to, int threshold, Function<Property, List<T>> mapper) {
+			this.snapshot = snapshot;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.mapper = mapper;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (to - from <= threshold) {
+				return scanSequentially(snapshot, from, to, mapper);
+			}
+			int middle = (from + to) >>> 1;
+			ScanTask<T> left = new ScanTask<>(snapshot, from, middle, threshold, mapper);
+			ScanTask<T> right = new ScanTask<>(snapshot, middle, to, threshold, mapper);
+			left.fork();
+			List<T> rightResult = right.compute();
+			return merge(left.join(), rightResult);
+		}
+	}
+
+	static <T extends Comparable<? super T>> List<T> scan(List<Property> properties, int threshold,
+			Function<Property, List<T>> mapper) {
+		return scan(ForkJoinPool.commonPool(), properties, threshold, mapper);
+	}
+
+	static <T extends Comparable<? super T>> List<T> scan(ForkJoinPool pool, List<Property> properties,
+			int threshold, Function<Property, List<T>> mapper) {
+		if (pool == null) {
+			throw new IllegalArgumentException("ParallelScan: pool was null");
+		}
+		if (properties == null) {
+			throw new IllegalArgumentException("ParallelScan: properties was null");
+		}
+		if (threshold < 1) {
+			throw new IllegalArgumentException("ParallelScan: threshold less than 1");
+		}
+		if (mapper == null) {
+			throw new IllegalArgumentException("ParallelScan: mapper was null");
+		}
+		Property[] snapshot = properties.toArray(new Property[properties.size()]);
+		if (snapshot.length <= threshold || pool.getParallelism() < 2) {
+			return scanSequentially(snapshot, 0, snapshot.length, mapper);
+		}
+		return pool.invoke(new ScanTask<>(snapshot, 0, snapshot.length, threshold, mapper));
+	}
+
+	private static <T extends Comparable<? super T>> List<T> scanSequentially(Property[] snapshot, int from, int to,
+			Function<Property, List<T>> mapper) {
+		List<T> result = new ArrayList<>();
+		for (int index = from; index < to; index++) {
+			result.addAll(mapper.apply(snapshot[index]));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static <T extends Comparable<? super T>> List<T> merge(List<T> left, List<T> right) {
+		List<T> result = new ArrayList<>(left.size() + right.size());
+		int leftIndex = 0;
+		int rightIndex = 0;
+		while (leftIndex < left.size() && rightIndex < right.size()) {
+			if (right.get(rightIndex).compareTo(left.get(leftIndex)) < 0) {
+				result.add(right.get(rightIndex++));
+			} else {
+				result.add(left.get(leftIndex++));
+			}
+		}
+		result.addAll(left.subList(leftIndex, left.size()));
+		result.addAll(right.subList(rightIndex, right.size()));
+		return result;
+	}
+}
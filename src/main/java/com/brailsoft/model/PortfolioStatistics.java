@@ -0,0 +1,35 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record PortfolioStatistics(LocalDate asOf, Map<Period, Integer> itemsPerPeriod,
+		Map<String, Integer> overdueItemsPerTown, Map<String, Integer> inventoryPerManufacturer,
+		Map<Address, LocalDate> nextDuePerProperty) {
+	public PortfolioStatistics {
+		if (asOf == null) {
+			throw new IllegalArgumentException("PortfolioStatistics: asOf was null");
+		}
+		Map<Period, Integer> periodCounts = new EnumMap<>(Period.class);
+		periodCounts.putAll(itemsPerPeriod);
+		itemsPerPeriod = Collections.unmodifiableMap(periodCounts);
+		overdueItemsPerTown = Collections.unmodifiableMap(new TreeMap<>(overdueItemsPerTown));
+		inventoryPerManufacturer = Collections.unmodifiableMap(new TreeMap<>(inventoryPerManufacturer));
+		nextDuePerProperty = Collections.unmodifiableMap(new TreeMap<>(nextDuePerProperty));
+	}
+
+	public int itemsFor(Period period) {
+		return itemsPerPeriod.getOrDefault(period, 0);
+	}
+
+	public int overdueItemsIn(String town) {
+		return overdueItemsPerTown.getOrDefault(town, 0);
+	}
+
+	public int inventoryFrom(String manufacturer) {
+		return inventoryPerManufacturer.getOrDefault(manufacturer, 0);
+	}
+}
@@ -1,5 +1,6 @@
 package com.brailsoft.model;
 
+import java.util.Locale;
 import java.util.Objects;
 
 import org.w3c.dom.Document;
@@ -53,6 +54,35 @@ public class PostCode implements Comparable<PostCode> {
 		return value;
 	}
 
+	public String outwardCode() {
+		String compact = compactValue();
+		if (compact.length() <= 3) {
+			return compact;
+		}
+		return compact.substring(0, compact.length() - 3);
+	}
+
+	public String inwardCode() {
+		String compact = compactValue();
+		if (compact.length() <= 3) {
+			return "";
+		}
+		return compact.substring(compact.length() - 3);
+	}
+
+	public String area() {
+		String outwardCode = outwardCode();
+		int index = 0;
+		while (index < outwardCode.length() && Character.isLetter(outwardCode.charAt(index))) {
+			index++;
+		}
+		return outwardCode.substring(0, index);
+	}
+
+	private String compactValue() {
+		return value.get().replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(value.get());
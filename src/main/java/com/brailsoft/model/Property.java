@@ -1,9 +1,13 @@
 package com.brailsoft.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.w3c.dom.Document;
@@ -19,6 +23,9 @@ public class Property implements Comparable<Property> {
 	private ObjectProperty<Address> address = new SimpleObjectProperty<>(this, "address", null);
 	private ObservableList<MonitoredItem> items = FXCollections.observableArrayList();
 	private ObservableList<InventoryItem> inventory = FXCollections.observableArrayList();
+	private final NavigableMap<LocalDate, Integer> actionDates = new TreeMap<>();
+	private final NavigableMap<LocalDate, Integer> noticeDates = new TreeMap<>();
+	private long version = 0;
 
 	public Property(Address address) {
 		if (address == null) {
@@ -36,6 +43,9 @@ public class Property implements Comparable<Property> {
 		that.items.stream().forEach(item -> {
 			this.items.add(new MonitoredItem(item));
 		});
+		this.actionDates.putAll(that.actionDates);
+		this.noticeDates.putAll(that.noticeDates);
+		this.version = that.version;
 		this.inventory = FXCollections.observableArrayList();
 		that.inventory.stream().forEach(item -> {
 			this.inventory.add(new InventoryItem(item));
@@ -93,7 +103,9 @@ public class Property implements Comparable<Property> {
 		if (items.contains(item)) {
 			throw new IllegalArgumentException("Property: item " + item + " already exists");
 		}
-		items.add(new MonitoredItem(item));
+		MonitoredItem copy = new MonitoredItem(item);
+		items.add(copy);
+		summarize(copy);
 	}
 
 	public void replaceItem(MonitoredItem item) {
@@ -111,7 +123,9 @@ public class Property implements Comparable<Property> {
 			}
 		}
 		if (found >= 0) {
-			items.set(found, new MonitoredItem(item));
+			MonitoredItem copy = new MonitoredItem(item);
+			unsummarize(items.set(found, copy));
+			summarize(copy);
 		} else {
 			throw new IllegalArgumentException("Property: item " + item + " not found");
 		}
@@ -132,7 +146,7 @@ public class Property implements Comparable<Property> {
 			}
 		}
 		if (found >= 0) {
-			items.remove(found);
+			unsummarize(items.remove(found));
 		} else {
 			throw new IllegalArgumentException("Property: item " + item + " not found");
 		}
@@ -148,6 +162,27 @@ public class Property implements Comparable<Property> {
 		inventory.add(new InventoryItem(item));
 	}
 
+	public void replaceItem(InventoryItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("Property: item was null");
+		}
+		if (!inventory.contains(item)) {
+			throw new IllegalArgumentException("Property: item " + item + " not found");
+		}
+		int found = -1;
+		for (int index = 0; index < inventory.size(); index++) {
+			if (inventory.get(index).equals(item)) {
+				found = index;
+				break;
+			}
+		}
+		if (found >= 0) {
+			inventory.set(found, new InventoryItem(item));
+		} else {
+			throw new IllegalArgumentException("Property: item " + item + " not found");
+		}
+	}
+
 	public void removeItem(InventoryItem item) {
 		if (item == null) {
 			throw new IllegalArgumentException("Property: item was null");
@@ -185,15 +220,63 @@ public class Property implements Comparable<Property> {
 		return copyList;
 	}
 
+	public long version() {
+		return version;
+	}
+
+	void setVersion(long version) {
+		this.version = version;
+	}
+
+	void setVersionOf(MonitoredItem item, long version) {
+		items.stream().filter(entry -> entry.equals(item)).forEach(entry -> entry.setVersion(version));
+	}
+
+	void setVersionOf(InventoryItem item, long version) {
+		inventory.stream().filter(entry -> entry.equals(item)).forEach(entry -> entry.setVersion(version));
+	}
+
+	long versionOf(MonitoredItem item) {
+		return items.stream().filter(entry -> entry.equals(item)).mapToLong(entry -> entry.version()).findFirst()
+				.orElse(-1);
+	}
+
+	long versionOf(InventoryItem item) {
+		return inventory.stream().filter(entry -> entry.equals(item)).mapToLong(entry -> entry.version())
+				.findFirst().orElse(-1);
+	}
+
+	public int itemCount() {
+		return items.size();
+	}
+
+	public LocalDate nextActionDue() {
+		return actionDates.isEmpty() ? null : actionDates.firstKey();
+	}
+
+	public LocalDate nextNoticeDue() {
+		return noticeDates.isEmpty() ? null : noticeDates.firstKey();
+	}
+
 	public boolean areItemsOverdue() {
-		List<MonitoredItem> list = items.stream().filter(item -> item.overdue()).collect(Collectors.toList());
-		return list.size() > 0;
+		return areItemsOverdue(LocalDate.now());
+	}
+
+	public boolean areItemsOverdue(LocalDate today) {
+		return !actionDates.isEmpty() && today.isAfter(actionDates.firstKey());
 	}
 
 	public List<MonitoredItem> overdueItems() {
+		return overdueItems(LocalDate.now());
+	}
+
+	public List<MonitoredItem> overdueItems(LocalDate today) {
 		List<MonitoredItem> copyList = new ArrayList<>();
+		if (!areItemsOverdue(today)) {
+			return copyList;
+		}
 		items.stream().forEach(item -> {
-			if (item.overdue()) {
+			if (item.overdue(today)) {
 				copyList.add(new MonitoredItem(item));
 			}
 		});
@@ -202,15 +285,30 @@ public class Property implements Comparable<Property> {
 	}
 
 	public boolean areNoticesOverdue() {
-		List<MonitoredItem> list = items.stream().filter(item -> item.noticeDue() && !item.overdue())
-				.collect(Collectors.toList());
-		return list.size() > 0;
+		return areNoticesOverdue(LocalDate.now());
+	}
+
+	public boolean areNoticesOverdue(LocalDate today) {
+		if (noticeDates.isEmpty() || !today.isAfter(noticeDates.firstKey())) {
+			return false;
+		}
+		if (!today.isAfter(actionDates.firstKey())) {
+			return true;
+		}
+		return countOf(noticeDates.headMap(today, false)) > countOf(actionDates.headMap(today, false));
 	}
 
 	public List<MonitoredItem> overdueNotices() {
+		return overdueNotices(LocalDate.now());
+	}
+
+	public List<MonitoredItem> overdueNotices(LocalDate today) {
 		List<MonitoredItem> copyList = new ArrayList<>();
+		if (!areNoticesOverdue(today)) {
+			return copyList;
+		}
 		items.stream().forEach(item -> {
-			if (item.noticeDue() && !item.overdue()) {
+			if (item.noticeDue(today) && !item.overdue(today)) {
 				copyList.add(new MonitoredItem(item));
 			}
 		});
@@ -218,8 +316,34 @@ public class Property implements Comparable<Property> {
 		return copyList;
 	}
 
+	void moveTo(Address address) {
+		if (address == null) {
+			throw new IllegalArgumentException("Property: address was null");
+		}
+		this.address.set(new Address(address));
+		Property owner = new Property(address);
+		items.stream().forEach(item -> item.setOwner(owner));
+		inventory.stream().forEach(item -> item.setOwner(owner));
+	}
+
 	public void clear() {
 		items.clear();
+		actionDates.clear();
+		noticeDates.clear();
+	}
+
+	private void summarize(MonitoredItem item) {
+		actionDates.merge(item.timeForNextAction(), 1, Integer::sum);
+		noticeDates.merge(item.timeForNextNotice(), 1, Integer::sum);
+	}
+
+	private void unsummarize(MonitoredItem item) {
+		actionDates.computeIfPresent(item.timeForNextAction(), (date, count) -> count > 1 ? count - 1 : null);
+		noticeDates.computeIfPresent(item.timeForNextNotice(), (date, count) -> count > 1 ? count - 1 : null);
+	}
+
+	private int countOf(Map<LocalDate, Integer> dates) {
+		return dates.values().stream().mapToInt(Integer::intValue).sum();
 	}
 
 	@Override
@@ -1,16 +1,26 @@
 package com.brailsoft.model;
 
 import java.io.File;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.brailsoft.base.ApplicationConfiguration;
-import com.brailsoft.base.AuditService;
 import com.brailsoft.base.Notification;
 import com.brailsoft.base.NotificationCentre;
+import com.brailsoft.base.NotificationType;
 import com.brailsoft.storage.Storage;
 
 import javafx.collections.FXCollections;
@@ -23,6 +33,19 @@ public class PropertyMonitor {
 	private static PropertyMonitor instance = null;
 
 	private final ObservableList<Property> properties;
+	private final Map<Property, Property> propertyLookup = new HashMap<>();
+	private final ScheduleIndex schedule = new ScheduleIndex();
+	private final InventoryIndex inventoryIndex = new InventoryIndex();
+	private final AddressIndex addressIndex = new AddressIndex();
+	private final StatisticsIndex statistics = new StatisticsIndex();
+	private int parallelThreshold = ParallelScan.DEFAULT_THRESHOLD;
+	private Clock clock = Clock.systemDefaultZone();
+	private final AuditWriter auditWriter = new AuditWriter();
+	private final Outbox outbox = new Outbox();
+	private final ChangeFeed changeFeed = new ChangeFeed();
+	private final NotificationBatcher batcher = new NotificationBatcher(this,
+			NotificationBatcher.DEFAULT_WINDOW_MILLIS);
+	private long modelVersion = 0;
 
 	public synchronized static PropertyMonitor instance() {
 		LOGGER.entering(CLASS_NAME, "instance");
@@ -35,12 +58,30 @@ public class PropertyMonitor {
 
 	private PropertyMonitor() {
 		properties = FXCollections.observableArrayList();
+		try {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(), "PropertyMonitorShutdown"));
+		} catch (IllegalStateException e) {
+			LOGGER.fine("PropertyMonitor: shutdown already in progress");
+		}
 	}
 
 	public synchronized void clear() {
 		LOGGER.entering(CLASS_NAME, "clear");
+		List<Property> removed = copyOf(properties);
 		properties.clear();
-		updateStorage();
+		propertyLookup.clear();
+		schedule.clear();
+		inventoryIndex.clear();
+		addressIndex.clear();
+		statistics.clear();
+		modelVersion++;
+		if (removed.isEmpty()) {
+			outbox.append(() -> updateStorage());
+		} else {
+			publish(PropertyType.Removed, PropertyObject.Property,
+					removed.stream().map(property -> new Notification(PropertyNotificationType.Removed, this, property))
+							.collect(Collectors.toList()));
+		}
 		LOGGER.exiting(CLASS_NAME, "clear");
 	}
 
@@ -65,10 +106,11 @@ public class PropertyMonitor {
 		}
 		try {
 			properties.add(newProperty);
-			AuditService.writeAuditInformation(PropertyType.Added, PropertyObject.Property, newProperty.toString());
-			updateStorage();
-			Notification notification = new Notification(PropertyNotificationType.Add, this, newProperty);
-			NotificationCentre.broadcast(notification);
+			propertyLookup.put(newProperty, newProperty);
+			addressIndex.add(newProperty);
+			updateVersion(newProperty);
+			publish(PropertyType.Added, PropertyObject.Property,
+					new Notification(PropertyNotificationType.Add, this, newProperty));
 		} catch (Exception e) {
 			Notification notification = new Notification(PropertyNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -101,10 +143,14 @@ public class PropertyMonitor {
 		}
 		try {
 			properties.remove(oldProperty);
-			AuditService.writeAuditInformation(PropertyType.Removed, PropertyObject.Property, oldProperty.toString());
-			updateStorage();
-			Notification notification = new Notification(PropertyNotificationType.Removed, this, oldProperty);
-			NotificationCentre.broadcast(notification);
+			propertyLookup.remove(oldProperty);
+			schedule.remove(oldProperty);
+			inventoryIndex.remove(oldProperty);
+			addressIndex.remove(oldProperty);
+			statistics.remove(oldProperty);
+			modelVersion++;
+			publish(PropertyType.Removed, PropertyObject.Property,
+					new Notification(PropertyNotificationType.Removed, this, oldProperty));
 		} catch (Exception e) {
 			Notification notification = new Notification(PropertyNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -116,6 +162,79 @@ public class PropertyMonitor {
 		}
 	}
 
+	public synchronized void replaceProperty(PropertyReplacement replacement) {
+		LOGGER.entering(CLASS_NAME, "replaceProperty", replacement);
+		if (replacement == null) {
+			Notification notification = new Notification(PropertyNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: replacement was null");
+			LOGGER.throwing(CLASS_NAME, "replaceProperty", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceProperty");
+			throw exc;
+		}
+		Property oldProperty = replacement.oldProperty();
+		Property newProperty = replacement.newProperty();
+		if (oldProperty == null || newProperty == null) {
+			Notification notification = new Notification(PropertyNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, "replaceProperty", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceProperty");
+			throw exc;
+		}
+		if (!properties.contains(oldProperty)) {
+			Notification notification = new Notification(PropertyNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertyMonitor: property " + oldProperty + " was not known");
+			LOGGER.throwing(CLASS_NAME, "replaceProperty", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceProperty");
+			throw exc;
+		}
+		if (!newProperty.equals(oldProperty) && properties.contains(newProperty)) {
+			Notification notification = new Notification(PropertyNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertyMonitor: property " + newProperty + " already exists");
+			LOGGER.throwing(CLASS_NAME, "replaceProperty", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceProperty");
+			throw exc;
+		}
+		try {
+			Property stored = findProperty(oldProperty);
+			Property moved = new Property(stored);
+			moved.moveTo(newProperty.address());
+			int index = properties.indexOf(stored);
+			propertyLookup.remove(stored);
+			schedule.remove(stored);
+			inventoryIndex.remove(stored);
+			addressIndex.remove(stored);
+			statistics.remove(stored);
+			properties.set(index, moved);
+			propertyLookup.put(moved, moved);
+			addressIndex.add(moved);
+			moved.monitoredItems().stream().forEach(item -> {
+				schedule.add(item);
+				statistics.add(item);
+			});
+			moved.inventoryItems().stream().forEach(item -> {
+				inventoryIndex.add(item);
+				statistics.add(item);
+			});
+			updateVersion(moved);
+			publish(PropertyType.Changed, PropertyObject.Property, new Notification(PropertyNotificationType.Changed,
+					this, new PropertyReplacement(new Property(stored), new Property(moved))));
+		} catch (Exception e) {
+			Notification notification = new Notification(PropertyNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			LOGGER.warning("Caught exception: " + e.getMessage());
+			LOGGER.throwing(CLASS_NAME, "replaceProperty", e);
+			throw e;
+		} finally {
+			LOGGER.exiting(CLASS_NAME, "replaceProperty");
+		}
+	}
+
 	public synchronized void addItem(MonitoredItem monitoredItem) {
 		LOGGER.entering(CLASS_NAME, "addItem", monitoredItem);
 		if (monitoredItem == null) {
@@ -151,11 +270,11 @@ public class PropertyMonitor {
 		}
 		try {
 			findProperty(property).addItem(monitoredItem);
-			AuditService.writeAuditInformation(PropertyType.Added, PropertyObject.MonitoredItem,
-					monitoredItem.toString());
-			updateStorage();
-			Notification notification = new Notification(MonitoredItemNotificationType.Add, this, monitoredItem);
-			NotificationCentre.broadcast(notification);
+			schedule.add(monitoredItem);
+			statistics.add(monitoredItem);
+			MonitoredItem stored = updateVersion(property, monitoredItem);
+			publish(PropertyType.Added, PropertyObject.MonitoredItem,
+					new Notification(MonitoredItemNotificationType.Add, this, stored));
 		} catch (Exception e) {
 			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -202,11 +321,11 @@ public class PropertyMonitor {
 		}
 		try {
 			findProperty(property).replaceItem(monitoredItem);
-			AuditService.writeAuditInformation(PropertyType.Changed, PropertyObject.MonitoredItem,
-					monitoredItem.toString());
-			updateStorage();
-			Notification notification = new Notification(MonitoredItemNotificationType.Changed, this, monitoredItem);
-			NotificationCentre.broadcast(notification);
+			schedule.replace(monitoredItem);
+			statistics.replace(monitoredItem);
+			MonitoredItem stored = updateVersion(property, monitoredItem);
+			publish(PropertyType.Changed, PropertyObject.MonitoredItem,
+					new Notification(MonitoredItemNotificationType.Changed, this, stored));
 		} catch (Exception e) {
 			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -253,11 +372,11 @@ public class PropertyMonitor {
 		}
 		try {
 			findProperty(property).removeItem(monitoredItem);
-			AuditService.writeAuditInformation(PropertyType.Removed, PropertyObject.MonitoredItem,
-					monitoredItem.toString());
-			updateStorage();
-			Notification notification = new Notification(MonitoredItemNotificationType.Removed, this, monitoredItem);
-			NotificationCentre.broadcast(notification);
+			schedule.remove(monitoredItem);
+			statistics.remove(monitoredItem);
+			updateVersion(property);
+			publish(PropertyType.Removed, PropertyObject.MonitoredItem,
+					new Notification(MonitoredItemNotificationType.Removed, this, monitoredItem));
 		} catch (Exception e) {
 			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -269,6 +388,114 @@ public class PropertyMonitor {
 		}
 	}
 
+	public synchronized void actionPerformed(LocalDate date, MonitoredItem... monitoredItems) {
+		LOGGER.entering(CLASS_NAME, "actionPerformed", new Object[] { date, monitoredItems });
+		if (date == null) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: date was null");
+			LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+			LOGGER.exiting(CLASS_NAME, "actionPerformed");
+			throw exc;
+		}
+		if (monitoredItems == null || monitoredItems.length == 0) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: monitoredItems was empty");
+			LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+			LOGGER.exiting(CLASS_NAME, "actionPerformed");
+			throw exc;
+		}
+		Map<Property, Set<String>> targets = new LinkedHashMap<>();
+		for (MonitoredItem monitoredItem : monitoredItems) {
+			if (monitoredItem == null) {
+				Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+				NotificationCentre.broadcast(notification);
+				IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: monitoredItem was null");
+				LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+				LOGGER.exiting(CLASS_NAME, "actionPerformed");
+				throw exc;
+			}
+			Property owner = null;
+			try {
+				owner = monitoredItem.owner();
+			} catch (IllegalArgumentException e) {
+				LOGGER.fine("PropertyMonitor: caught exception: " + e.getMessage());
+			}
+			if (owner == null) {
+				Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+				NotificationCentre.broadcast(notification);
+				IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+				LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+				LOGGER.exiting(CLASS_NAME, "actionPerformed");
+				throw exc;
+			}
+			Property property = findProperty(owner);
+			if (property == null) {
+				Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+				NotificationCentre.broadcast(notification);
+				IllegalArgumentException exc = new IllegalArgumentException(
+						"PropertyMonitor: property " + owner + " was not known");
+				LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+				LOGGER.exiting(CLASS_NAME, "actionPerformed");
+				throw exc;
+			}
+			if (property.versionOf(monitoredItem) < 0) {
+				Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+				NotificationCentre.broadcast(notification);
+				IllegalArgumentException exc = new IllegalArgumentException(
+						"PropertyMonitor: monitoredItem " + monitoredItem + " was not known");
+				LOGGER.throwing(CLASS_NAME, "actionPerformed", exc);
+				LOGGER.exiting(CLASS_NAME, "actionPerformed");
+				throw exc;
+			}
+			targets.computeIfAbsent(property, key -> new HashSet<>()).add(monitoredItem.description());
+		}
+		try {
+			long version = modelVersion + 1;
+			List<MonitoredItem> originals = new ArrayList<>();
+			List<MonitoredItem> updated = new ArrayList<>();
+			targets.entrySet().stream().forEach(target -> target.getKey().monitoredItems().stream()
+					.filter(item -> target.getValue().contains(item.description())).forEach(item -> {
+						originals.add(new MonitoredItem(item));
+						item.actionPerformed(date);
+						item.setVersion(version);
+						updated.add(item);
+					}));
+			int applied = 0;
+			try {
+				for (MonitoredItem item : updated) {
+					replaceStored(item);
+					applied++;
+				}
+			} catch (RuntimeException e) {
+				for (int index = 0; index <= applied && index < originals.size(); index++) {
+					replaceStored(originals.get(index));
+				}
+				throw e;
+			}
+			targets.keySet().stream().forEach(property -> property.setVersion(version));
+			modelVersion = version;
+			publish(PropertyType.Changed, PropertyObject.MonitoredItem,
+					updated.stream().map(item -> new Notification(MonitoredItemNotificationType.Changed, this, item))
+							.collect(Collectors.toList()));
+		} catch (Exception e) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			LOGGER.warning("Caught exception: " + e.getMessage());
+			LOGGER.throwing(CLASS_NAME, "actionPerformed", e);
+			throw e;
+		} finally {
+			LOGGER.exiting(CLASS_NAME, "actionPerformed");
+		}
+	}
+
+	private void replaceStored(MonitoredItem item) {
+		findProperty(item.ownerProperty().get()).replaceItem(item);
+		schedule.replace(item);
+		statistics.replace(item);
+	}
+
 	public synchronized void addItem(InventoryItem inventoryItem) {
 		LOGGER.entering(CLASS_NAME, "addItem", inventoryItem);
 		if (inventoryItem == null) {
@@ -304,11 +531,11 @@ public class PropertyMonitor {
 		}
 		try {
 			findProperty(property).addItem(inventoryItem);
-			AuditService.writeAuditInformation(PropertyType.Added, PropertyObject.InventoryItem,
-					inventoryItem.toString());
-			updateStorage();
-			Notification notification = new Notification(InventoryItemNotificationType.Add, this, inventoryItem);
-			NotificationCentre.broadcast(notification);
+			inventoryIndex.add(inventoryItem);
+			statistics.add(inventoryItem);
+			InventoryItem stored = updateVersion(property, inventoryItem);
+			publish(PropertyType.Added, PropertyObject.InventoryItem,
+					new Notification(InventoryItemNotificationType.Add, this, stored));
 		} catch (Exception e) {
 			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -320,6 +547,57 @@ public class PropertyMonitor {
 		}
 	}
 
+	public synchronized void replaceItem(InventoryItem inventoryItem) {
+		LOGGER.entering(CLASS_NAME, "replaceItem", inventoryItem);
+		if (inventoryItem == null) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: inventoryItem was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		Property property = null;
+		try {
+			property = inventoryItem.owner();
+		} catch (IllegalArgumentException e) {
+			LOGGER.fine("PropertyMonitor: caught exception: " + e.getMessage());
+		}
+		if (property == null) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		if (!properties.contains(property)) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertyMonitor: property " + property + " was not known");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		try {
+			findProperty(property).replaceItem(inventoryItem);
+			inventoryIndex.add(inventoryItem);
+			statistics.add(inventoryItem);
+			InventoryItem stored = updateVersion(property, inventoryItem);
+			publish(PropertyType.Changed, PropertyObject.InventoryItem,
+					new Notification(InventoryItemNotificationType.Changed, this, stored));
+		} catch (Exception e) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			LOGGER.warning("Caught exception: " + e.getMessage());
+			LOGGER.throwing(CLASS_NAME, "replaceItem", e);
+			throw e;
+		} finally {
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+		}
+	}
+
 	public synchronized void removeItem(InventoryItem inventoryItem) {
 		LOGGER.entering(CLASS_NAME, "removeItem", inventoryItem);
 		if (inventoryItem == null) {
@@ -355,11 +633,11 @@ public class PropertyMonitor {
 		}
 		try {
 			findProperty(property).removeItem(inventoryItem);
-			AuditService.writeAuditInformation(PropertyType.Removed, PropertyObject.InventoryItem,
-					inventoryItem.toString());
-			updateStorage();
-			Notification notification = new Notification(InventoryItemNotificationType.Removed, this, inventoryItem);
-			NotificationCentre.broadcast(notification);
+			inventoryIndex.remove(inventoryItem);
+			statistics.remove(inventoryItem);
+			updateVersion(property);
+			publish(PropertyType.Removed, PropertyObject.InventoryItem,
+					new Notification(InventoryItemNotificationType.Removed, this, inventoryItem));
 		} catch (Exception e) {
 			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
 			NotificationCentre.broadcast(notification);
@@ -371,29 +649,307 @@ public class PropertyMonitor {
 		}
 	}
 
+	public synchronized void replaceItem(MonitoredItem monitoredItem, long expectedVersion) {
+		LOGGER.entering(CLASS_NAME, "replaceItem", new Object[] { monitoredItem, expectedVersion });
+		if (monitoredItem == null) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: monitoredItem was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		Property owner = null;
+		try {
+			owner = monitoredItem.owner();
+		} catch (IllegalArgumentException e) {
+			LOGGER.fine("PropertyMonitor: caught exception: " + e.getMessage());
+		}
+		if (owner == null) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		Property property = findProperty(owner);
+		long currentVersion = property == null ? -1 : property.versionOf(monitoredItem);
+		if (currentVersion >= 0 && currentVersion != expectedVersion) {
+			Notification notification = new Notification(MonitoredItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalStateException exc = conflict(monitoredItem, currentVersion, expectedVersion);
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		try {
+			replaceItem(monitoredItem);
+		} finally {
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+		}
+	}
+
+	public synchronized void replaceItem(InventoryItem inventoryItem, long expectedVersion) {
+		LOGGER.entering(CLASS_NAME, "replaceItem", new Object[] { inventoryItem, expectedVersion });
+		if (inventoryItem == null) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: inventoryItem was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		Property owner = null;
+		try {
+			owner = inventoryItem.owner();
+		} catch (IllegalArgumentException e) {
+			LOGGER.fine("PropertyMonitor: caught exception: " + e.getMessage());
+		}
+		if (owner == null) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		Property property = findProperty(owner);
+		long currentVersion = property == null ? -1 : property.versionOf(inventoryItem);
+		if (currentVersion >= 0 && currentVersion != expectedVersion) {
+			Notification notification = new Notification(InventoryItemNotificationType.Failed, this);
+			NotificationCentre.broadcast(notification);
+			IllegalStateException exc = conflict(inventoryItem, currentVersion, expectedVersion);
+			LOGGER.throwing(CLASS_NAME, "replaceItem", exc);
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+			throw exc;
+		}
+		try {
+			replaceItem(inventoryItem);
+		} finally {
+			LOGGER.exiting(CLASS_NAME, "replaceItem");
+		}
+	}
+
+	private IllegalStateException conflict(Object item, long currentVersion, long expectedVersion) {
+		return new IllegalStateException("PropertyMonitor: item " + item + " is at version " + currentVersion
+				+ ", expected " + expectedVersion);
+	}
+
+	public synchronized void inTransaction(Runnable work) {
+		LOGGER.entering(CLASS_NAME, "inTransaction", work);
+		if (work == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: work was null");
+			LOGGER.throwing(CLASS_NAME, "inTransaction", exc);
+			LOGGER.exiting(CLASS_NAME, "inTransaction");
+			throw exc;
+		}
+		outbox.append(() -> batcher.begin());
+		try {
+			work.run();
+		} finally {
+			outbox.append(() -> {
+				batcher.commit();
+				batcher.flush();
+			});
+			LOGGER.exiting(CLASS_NAME, "inTransaction");
+		}
+	}
+
+	public ChangeFeed changes() {
+		return changeFeed;
+	}
+
+	public AuditWriter auditWriter() {
+		return auditWriter;
+	}
+
+	public void flush() {
+		LOGGER.entering(CLASS_NAME, "flush");
+		outbox.flush();
+		batcher.flush();
+		auditWriter.flush();
+		LOGGER.exiting(CLASS_NAME, "flush");
+	}
+
+	public void shutdown() {
+		LOGGER.entering(CLASS_NAME, "shutdown");
+		flush();
+		outbox.shutdown();
+		auditWriter.shutdown();
+		LOGGER.exiting(CLASS_NAME, "shutdown");
+	}
+
+	Outbox outbox() {
+		return outbox;
+	}
+
 	public synchronized List<Property> properties() {
 		LOGGER.entering(CLASS_NAME, "properties");
-		List<Property> copyList = properties.stream().map(property -> new Property(property))
-				.collect(Collectors.toList());
-		Collections.sort(copyList);
+		List<Property> copyList = ParallelScan.scan(properties, parallelThreshold,
+				property -> List.of(new Property(property)));
 		LOGGER.exiting(CLASS_NAME, "properties", copyList);
 		return copyList;
 	}
 
+	public synchronized Optional<Versioned<List<Property>>> propertiesIfChangedSince(long version) {
+		LOGGER.entering(CLASS_NAME, "propertiesIfChangedSince", version);
+		if (modelVersion <= version) {
+			LOGGER.exiting(CLASS_NAME, "propertiesIfChangedSince", modelVersion);
+			return Optional.empty();
+		}
+		Versioned<List<Property>> result = new Versioned<>(modelVersion, properties());
+		LOGGER.exiting(CLASS_NAME, "propertiesIfChangedSince", result);
+		return Optional.of(result);
+	}
+
+	public synchronized Optional<Versioned<List<MonitoredItem>>> monitoredItemsIfChangedSince(Property property,
+			long version) {
+		LOGGER.entering(CLASS_NAME, "monitoredItemsIfChangedSince", new Object[] { property, version });
+		long current = knownPropertyVersion(property, "monitoredItemsIfChangedSince");
+		if (current <= version) {
+			LOGGER.exiting(CLASS_NAME, "monitoredItemsIfChangedSince", current);
+			return Optional.empty();
+		}
+		Versioned<List<MonitoredItem>> result = new Versioned<>(current, monitoredItemsFor(property));
+		LOGGER.exiting(CLASS_NAME, "monitoredItemsIfChangedSince", result);
+		return Optional.of(result);
+	}
+
+	public synchronized Optional<Versioned<List<InventoryItem>>> inventoryItemsIfChangedSince(Property property,
+			long version) {
+		LOGGER.entering(CLASS_NAME, "inventoryItemsIfChangedSince", new Object[] { property, version });
+		long current = knownPropertyVersion(property, "inventoryItemsIfChangedSince");
+		if (current <= version) {
+			LOGGER.exiting(CLASS_NAME, "inventoryItemsIfChangedSince", current);
+			return Optional.empty();
+		}
+		Versioned<List<InventoryItem>> result = new Versioned<>(current, inventoryItemsFor(property));
+		LOGGER.exiting(CLASS_NAME, "inventoryItemsIfChangedSince", result);
+		return Optional.of(result);
+	}
+
+	private long knownPropertyVersion(Property property, String method) {
+		if (property == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+		Property found = findProperty(property);
+		if (found == null) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertyMonitor: property " + property + " was not known");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+		return found.version();
+	}
+
+	public synchronized PortfolioStatistics statistics() {
+		return statistics(evaluationContext());
+	}
+
+	public synchronized PortfolioStatistics statistics(EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "statistics", context);
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: context was null");
+			LOGGER.throwing(CLASS_NAME, "statistics", exc);
+			LOGGER.exiting(CLASS_NAME, "statistics");
+			throw exc;
+		}
+		PortfolioStatistics snapshot = statistics.snapshot(context.asOf());
+		LOGGER.exiting(CLASS_NAME, "statistics", snapshot);
+		return snapshot;
+	}
+
+	public synchronized LocalDate nextDueFor(Property property) {
+		LOGGER.entering(CLASS_NAME, "nextDueFor", property);
+		if (property == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: property was null");
+			LOGGER.throwing(CLASS_NAME, "nextDueFor", exc);
+			LOGGER.exiting(CLASS_NAME, "nextDueFor");
+			throw exc;
+		}
+		LocalDate nextDue = statistics.nextDueFor(property);
+		LOGGER.exiting(CLASS_NAME, "nextDueFor", nextDue);
+		return nextDue;
+	}
+
+	public synchronized long modelVersion() {
+		return modelVersion;
+	}
+
+	public synchronized int parallelThreshold() {
+		return parallelThreshold;
+	}
+
+	public synchronized void setParallelThreshold(int parallelThreshold) {
+		LOGGER.entering(CLASS_NAME, "setParallelThreshold", parallelThreshold);
+		if (parallelThreshold < 1) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertyMonitor: parallelThreshold less than 1");
+			LOGGER.throwing(CLASS_NAME, "setParallelThreshold", exc);
+			LOGGER.exiting(CLASS_NAME, "setParallelThreshold");
+			throw exc;
+		}
+		this.parallelThreshold = parallelThreshold;
+		LOGGER.exiting(CLASS_NAME, "setParallelThreshold");
+	}
+
+	public synchronized Clock clock() {
+		return clock;
+	}
+
+	public synchronized void setClock(Clock clock) {
+		LOGGER.entering(CLASS_NAME, "setClock", clock);
+		if (clock == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: clock was null");
+			LOGGER.throwing(CLASS_NAME, "setClock", exc);
+			LOGGER.exiting(CLASS_NAME, "setClock");
+			throw exc;
+		}
+		this.clock = clock;
+		LOGGER.exiting(CLASS_NAME, "setClock");
+	}
+
+	public synchronized EvaluationContext evaluationContext() {
+		return EvaluationContext.of(clock);
+	}
+
 	public synchronized List<Property> propertiesWithOverdueNotices() {
-		LOGGER.entering(CLASS_NAME, "propertiesWithOverdueNotices");
-		List<Property> copyList = properties().stream().filter(property -> property.areNoticesOverdue())
-				.collect(Collectors.toList());
-		Collections.sort(copyList);
+		return propertiesWithOverdueNotices(evaluationContext());
+	}
+
+	public synchronized List<Property> propertiesWithOverdueNotices(EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithOverdueNotices", context);
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: context was null");
+			LOGGER.throwing(CLASS_NAME, "propertiesWithOverdueNotices", exc);
+			LOGGER.exiting(CLASS_NAME, "propertiesWithOverdueNotices");
+			throw exc;
+		}
+		List<Property> copyList = schedule.ownersWithOverdueNotices(context.asOf()).stream()
+				.map(owner -> new Property(findProperty(owner))).collect(Collectors.toList());
 		LOGGER.exiting(CLASS_NAME, "propertiesWithOverdueNotices", copyList);
 		return copyList;
 	}
 
 	public synchronized List<Property> propertiesWithOverdueItems() {
-		LOGGER.entering(CLASS_NAME, "propertiesWithOverdueItems");
-		List<Property> copyList = properties().stream().filter(property -> property.areItemsOverdue())
-				.collect(Collectors.toList());
-		Collections.sort(copyList);
+		return propertiesWithOverdueItems(evaluationContext());
+	}
+
+	public synchronized List<Property> propertiesWithOverdueItems(EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithOverdueItems", context);
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: context was null");
+			LOGGER.throwing(CLASS_NAME, "propertiesWithOverdueItems", exc);
+			LOGGER.exiting(CLASS_NAME, "propertiesWithOverdueItems");
+			throw exc;
+		}
+		List<Property> copyList = schedule.ownersWithOverdueItems(context.asOf()).stream()
+				.map(owner -> new Property(findProperty(owner))).collect(Collectors.toList());
 		LOGGER.exiting(CLASS_NAME, "propertiesWithOverdueItems", copyList);
 		return copyList;
 	}
@@ -416,9 +972,7 @@ public class PropertyMonitor {
 			LOGGER.exiting(CLASS_NAME, "overdueItemsFor");
 			throw exc;
 		}
-		List<MonitoredItem> overdueList = getAllItems().stream().filter(item -> item.timeForNextAction().equals(date))
-				.collect(Collectors.toList());
-		Collections.sort(overdueList);
+		List<MonitoredItem> overdueList = schedule.actionsOn(date);
 		LOGGER.exiting(CLASS_NAME, "overdueItemsFor", overdueList);
 		return overdueList;
 	}
@@ -431,9 +985,7 @@ public class PropertyMonitor {
 			LOGGER.exiting(CLASS_NAME, "notifiedItemsFor");
 			throw exc;
 		}
-		List<MonitoredItem> notifiedList = getAllItems().stream().filter(item -> item.timeForNextNotice().equals(date))
-				.collect(Collectors.toList());
-		Collections.sort(notifiedList);
+		List<MonitoredItem> notifiedList = schedule.noticesOn(date);
 		LOGGER.exiting(CLASS_NAME, "notifiedItemsFor", notifiedList);
 		return notifiedList;
 	}
@@ -448,6 +1000,84 @@ public class PropertyMonitor {
 		return copyList;
 	}
 
+	synchronized long propertyVersion(Property property) {
+		Property found = propertyLookup.get(property);
+		return found == null ? 0 : found.version();
+	}
+
+	private void updateVersion(Property property) {
+		modelVersion++;
+		findProperty(property).setVersion(modelVersion);
+	}
+
+	private MonitoredItem updateVersion(Property property, MonitoredItem item) {
+		updateVersion(property);
+		findProperty(property).setVersionOf(item, modelVersion);
+		schedule.setVersionOf(item, modelVersion);
+		MonitoredItem stored = new MonitoredItem(item);
+		stored.setVersion(modelVersion);
+		return stored;
+	}
+
+	private InventoryItem updateVersion(Property property, InventoryItem item) {
+		updateVersion(property);
+		findProperty(property).setVersionOf(item, modelVersion);
+		inventoryIndex.setVersionOf(item, modelVersion);
+		InventoryItem stored = new InventoryItem(item);
+		stored.setVersion(modelVersion);
+		return stored;
+	}
+
+	private void publish(PropertyType auditType, PropertyObject auditObject, Notification notification) {
+		publish(auditType, auditObject, List.of(notification));
+	}
+
+	private void publish(PropertyType auditType, PropertyObject auditObject, List<Notification> notifications) {
+		List<String> auditTexts = notifications.stream().map(notification -> notification.subject().get().toString())
+				.collect(Collectors.toList());
+		List<Object> snapshots = notifications.stream().map(notification -> snapshotOf(notification.subject().get()))
+				.collect(Collectors.toList());
+		NotificationType failedType = failedTypeOf(notifications.get(0).notificationType());
+		outbox.append(() -> {
+			try {
+				auditTexts.stream().forEach(auditText -> auditWriter.write(auditType, auditObject, auditText));
+				notifications.stream().forEach(notification -> {
+					NotificationCentre.broadcast(notification);
+					batcher.record(notification);
+				});
+				updateStorage();
+				snapshots.stream().forEach(snapshot -> changeFeed.append(auditType, auditObject, snapshot));
+			} catch (Exception e) {
+				NotificationCentre.broadcast(new Notification(failedType, this));
+				LOGGER.warning("Caught exception: " + e.getMessage());
+				LOGGER.throwing(CLASS_NAME, "publish", e);
+			}
+		});
+	}
+
+	private Object snapshotOf(Object subject) {
+		if (subject instanceof Property property) {
+			return new Property(property);
+		}
+		if (subject instanceof MonitoredItem item) {
+			return new MonitoredItem(item);
+		}
+		if (subject instanceof InventoryItem item) {
+			return new InventoryItem(item);
+		}
+		return subject;
+	}
+
+	private NotificationType failedTypeOf(NotificationType notificationType) {
+		if (notificationType instanceof MonitoredItemNotificationType) {
+			return MonitoredItemNotificationType.Failed;
+		}
+		if (notificationType instanceof InventoryItemNotificationType) {
+			return InventoryItemNotificationType.Failed;
+		}
+		return PropertyNotificationType.Failed;
+	}
+
 	private void updateStorage() {
 		LOGGER.entering(CLASS_NAME, "updateStorage");
 		PropertyStore propertyStore = new PropertyStore();
@@ -482,22 +1112,226 @@ public class PropertyMonitor {
 
 	synchronized Property findProperty(Property property) {
 		LOGGER.entering(CLASS_NAME, "findProperty", property);
-		Property found = null;
-		for (Property p : properties) {
-			if (p.equals(property)) {
-				found = p;
-				break;
-			}
-		}
+		Property found = propertyLookup.get(property);
 		LOGGER.exiting(CLASS_NAME, "findProperty", found);
 		return found;
 	}
 
+	synchronized List<MonitoredItem> itemsDueBetween(LocalDate from, LocalDate to, int limit) {
+		LOGGER.entering(CLASS_NAME, "itemsDueBetween", new Object[] { from, to, limit });
+		List<MonitoredItem> dueList = schedule.actionsBetween(from, to, limit);
+		LOGGER.exiting(CLASS_NAME, "itemsDueBetween", dueList);
+		return dueList;
+	}
+
+	synchronized List<MonitoredItem> noticesDueBetween(LocalDate from, LocalDate to, int limit) {
+		LOGGER.entering(CLASS_NAME, "noticesDueBetween", new Object[] { from, to, limit });
+		List<MonitoredItem> noticeList = schedule.noticesBetween(from, to, limit);
+		LOGGER.exiting(CLASS_NAME, "noticesDueBetween", noticeList);
+		return noticeList;
+	}
+
+	synchronized List<MonitoredItem> soonestDue(int limit) {
+		LOGGER.entering(CLASS_NAME, "soonestDue", limit);
+		List<MonitoredItem> dueList = schedule.firstActions(limit);
+		LOGGER.exiting(CLASS_NAME, "soonestDue", dueList);
+		return dueList;
+	}
+
+	synchronized List<MonitoredItem> soonestDue(Property property, int limit) {
+		LOGGER.entering(CLASS_NAME, "soonestDue", new Object[] { property, limit });
+		List<MonitoredItem> dueList = schedule.firstActionsFor(property, limit);
+		LOGGER.exiting(CLASS_NAME, "soonestDue", dueList);
+		return dueList;
+	}
+
+	synchronized List<MonitoredItem> forecastEntries() {
+		LOGGER.entering(CLASS_NAME, "forecastEntries");
+		List<MonitoredItem> entryList = schedule.allEntries();
+		LOGGER.exiting(CLASS_NAME, "forecastEntries", entryList.size());
+		return entryList;
+	}
+
+	synchronized List<MonitoredItem> forecastEntries(Property property) {
+		LOGGER.entering(CLASS_NAME, "forecastEntries", property);
+		List<MonitoredItem> entryList = new ArrayList<>(schedule.entriesFor(property));
+		LOGGER.exiting(CLASS_NAME, "forecastEntries", entryList.size());
+		return entryList;
+	}
+
+	synchronized List<MonitoredItem> forecastEntriesWithPostCodePrefix(String prefix) {
+		LOGGER.entering(CLASS_NAME, "forecastEntriesWithPostCodePrefix", prefix);
+		List<MonitoredItem> entryList = new ArrayList<>();
+		addressIndex.withPostCodePrefix(prefix).stream()
+				.forEach(property -> entryList.addAll(schedule.entriesFor(property)));
+		LOGGER.exiting(CLASS_NAME, "forecastEntriesWithPostCodePrefix", entryList.size());
+		return entryList;
+	}
+
+	synchronized List<MonitoredItem> itemEntriesDueBetween(LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "itemEntriesDueBetween", new Object[] { from, to });
+		List<MonitoredItem> entryList = schedule.actionEntriesBetween(from, to);
+		LOGGER.exiting(CLASS_NAME, "itemEntriesDueBetween", entryList.size());
+		return entryList;
+	}
+
+	synchronized List<MonitoredItem> noticeEntriesDueBetween(LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "noticeEntriesDueBetween", new Object[] { from, to });
+		List<MonitoredItem> entryList = schedule.noticeEntriesBetween(from, to);
+		LOGGER.exiting(CLASS_NAME, "noticeEntriesDueBetween", entryList.size());
+		return entryList;
+	}
+
+	synchronized List<InventoryItem> searchInventory(String text) {
+		LOGGER.entering(CLASS_NAME, "searchInventory", text);
+		List<InventoryItem> matches = inventoryIndex.search(text);
+		LOGGER.exiting(CLASS_NAME, "searchInventory", matches);
+		return matches;
+	}
+
+	synchronized List<InventoryItem> searchInventoryByPrefix(String prefix) {
+		LOGGER.entering(CLASS_NAME, "searchInventoryByPrefix", prefix);
+		List<InventoryItem> matches = inventoryIndex.searchPrefix(prefix);
+		LOGGER.exiting(CLASS_NAME, "searchInventoryByPrefix", matches);
+		return matches;
+	}
+
+	synchronized List<Property> propertiesWithInventoryMatching(String text) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithInventoryMatching", text);
+		List<Property> copyList = inventoryIndex.search(text).stream().map(item -> item.owner()).distinct().sorted()
+				.map(owner -> new Property(findProperty(owner))).collect(Collectors.toList());
+		LOGGER.exiting(CLASS_NAME, "propertiesWithInventoryMatching", copyList);
+		return copyList;
+	}
+
+	synchronized Map<String, List<Property>> propertiesWithSerialNumbers(Collection<String> serialNumbers) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithSerialNumbers", serialNumbers.size());
+		Map<String, List<Property>> result = copyOf(inventoryIndex.ownersOfSerialNumbers(serialNumbers));
+		LOGGER.exiting(CLASS_NAME, "propertiesWithSerialNumbers", result);
+		return result;
+	}
+
+	synchronized List<Property> propertiesWithModel(String manufacturer, String model) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithModel", new Object[] { manufacturer, model });
+		List<Property> copyList = inventoryIndex.ownersOfModel(manufacturer, model).stream()
+				.map(owner -> new Property(findProperty(owner))).collect(Collectors.toList());
+		LOGGER.exiting(CLASS_NAME, "propertiesWithModel", copyList);
+		return copyList;
+	}
+
+	synchronized Map<String, List<Property>> duplicateSerialNumbers() {
+		LOGGER.entering(CLASS_NAME, "duplicateSerialNumbers");
+		Map<String, List<Property>> result = copyOf(inventoryIndex.duplicateSerialNumbers());
+		LOGGER.exiting(CLASS_NAME, "duplicateSerialNumbers", result);
+		return result;
+	}
+
+	private Map<String, List<Property>> copyOf(Map<String, Set<Property>> ownersByKey) {
+		Map<Property, Property> copies = new HashMap<>();
+		Map<String, List<Property>> result = new TreeMap<>();
+		ownersByKey.entrySet().stream().forEach(entry -> {
+			result.put(entry.getKey(), entry.getValue().stream()
+					.map(owner -> copies.computeIfAbsent(owner, key -> new Property(findProperty(key))))
+					.collect(Collectors.toList()));
+		});
+		return result;
+	}
+
+	synchronized List<Property> propertiesInPostCodeArea(String area) {
+		LOGGER.entering(CLASS_NAME, "propertiesInPostCodeArea", area);
+		List<Property> copyList = copyOf(addressIndex.inArea(area));
+		LOGGER.exiting(CLASS_NAME, "propertiesInPostCodeArea", copyList);
+		return copyList;
+	}
+
+	synchronized List<Property> propertiesInPostCodeDistrict(String district) {
+		LOGGER.entering(CLASS_NAME, "propertiesInPostCodeDistrict", district);
+		List<Property> copyList = copyOf(addressIndex.inDistrict(district));
+		LOGGER.exiting(CLASS_NAME, "propertiesInPostCodeDistrict", copyList);
+		return copyList;
+	}
+
+	synchronized List<Property> propertiesWithPostCodePrefix(String prefix) {
+		LOGGER.entering(CLASS_NAME, "propertiesWithPostCodePrefix", prefix);
+		List<Property> copyList = copyOf(addressIndex.withPostCodePrefix(prefix));
+		LOGGER.exiting(CLASS_NAME, "propertiesWithPostCodePrefix", copyList);
+		return copyList;
+	}
+
+	synchronized List<Property> propertiesInTown(String town) {
+		LOGGER.entering(CLASS_NAME, "propertiesInTown", town);
+		List<Property> copyList = copyOf(addressIndex.inTown(town));
+		LOGGER.exiting(CLASS_NAME, "propertiesInTown", copyList);
+		return copyList;
+	}
+
+	synchronized List<Property> propertiesInCounty(String county) {
+		LOGGER.entering(CLASS_NAME, "propertiesInCounty", county);
+		List<Property> copyList = copyOf(addressIndex.inCounty(county));
+		LOGGER.exiting(CLASS_NAME, "propertiesInCounty", copyList);
+		return copyList;
+	}
+
+	private List<Property> copyOf(List<Property> storedProperties) {
+		return storedProperties.stream().map(property -> new Property(property)).collect(Collectors.toList());
+	}
+
+	synchronized QueryPlanner.QueryResult query(PropertyQuery query, EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "query", new Object[] { query, context });
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: context was null");
+			LOGGER.throwing(CLASS_NAME, "query", exc);
+			LOGGER.exiting(CLASS_NAME, "query");
+			throw exc;
+		}
+		if (query == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertyMonitor: query was null");
+			LOGGER.throwing(CLASS_NAME, "query", exc);
+			LOGGER.exiting(CLASS_NAME, "query");
+			throw exc;
+		}
+		QueryPlanner planner = new QueryPlanner(properties, propertyLookup, addressIndex, schedule, inventoryIndex,
+				statistics);
+		QueryPlanner.QueryResult result = planner.execute(query, context.asOf());
+		LOGGER.fine("PropertyMonitor: query plan " + result.plan());
+		LOGGER.exiting(CLASS_NAME, "query", result.properties());
+		return result;
+	}
+
+	synchronized Page<Property> propertiesPage(int offset, int limit) {
+		LOGGER.entering(CLASS_NAME, "propertiesPage", new Object[] { offset, limit });
+		List<Property> sortedList = new ArrayList<>(properties);
+		Collections.sort(sortedList);
+		int from = Math.min(offset, sortedList.size());
+		int to = (int) Math.min((long) from + limit, sortedList.size());
+		List<Property> copyList = sortedList.subList(from, to).stream().map(property -> new Property(property))
+				.collect(Collectors.toList());
+		Page<Property> page = new Page<>(copyList, offset, sortedList.size());
+		LOGGER.exiting(CLASS_NAME, "propertiesPage", page);
+		return page;
+	}
+
+	synchronized Page<Property> propertiesAfter(Property last, int limit) {
+		LOGGER.entering(CLASS_NAME, "propertiesAfter", new Object[] { last, limit });
+		List<Property> sortedList = new ArrayList<>(properties);
+		Collections.sort(sortedList);
+		int from = 0;
+		if (last != null) {
+			int found = Collections.binarySearch(sortedList, last);
+			from = found >= 0 ? found + 1 : -found - 1;
+		}
+		int to = (int) Math.min((long) from + limit, sortedList.size());
+		List<Property> copyList = sortedList.subList(from, to).stream().map(property -> new Property(property))
+				.collect(Collectors.toList());
+		Page<Property> page = new Page<>(copyList, from, sortedList.size());
+		LOGGER.exiting(CLASS_NAME, "propertiesAfter", page);
+		return page;
+	}
+
 	synchronized List<MonitoredItem> getAllItems() {
 		LOGGER.entering(CLASS_NAME, "getAllItems");
-		List<MonitoredItem> allItems = properties().stream().flatMap(property -> property.monitoredItems().stream())
-				.collect(Collectors.toList());
-		Collections.sort(allItems);
+		List<MonitoredItem> allItems = ParallelScan.scan(properties, parallelThreshold,
+				property -> property.monitoredItems());
 		LOGGER.exiting(CLASS_NAME, "getAllItems", allItems);
 		return allItems;
 	}
@@ -0,0 +1,217 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class PropertyQuery {
+	public enum Order {
+		ADDRESS, NEXT_DUE
+	}
+
+	private String postCodePrefix = null;
+	private String street = null;
+	private String town = null;
+	private String county = null;
+	private LocalDate dueFrom = null;
+	private LocalDate dueTo = null;
+	private LocalDate noticeFrom = null;
+	private LocalDate noticeTo = null;
+	private Period period = null;
+	private boolean overdue = false;
+	private boolean noticeDue = false;
+	private String manufacturer = null;
+	private String model = null;
+	private String serialNumber = null;
+	private Order order = Order.ADDRESS;
+	private int limit = Integer.MAX_VALUE;
+
+	public PropertyQuery withPostCodePrefix(String prefix) {
+		postCodePrefix = checkText("prefix", prefix);
+		return this;
+	}
+
+	public PropertyQuery onStreet(String street) {
+		this.street = checkText("street", street);
+		return this;
+	}
+
+	public PropertyQuery inTown(String town) {
+		this.town = checkText("town", town);
+		return this;
+	}
+
+	public PropertyQuery inCounty(String county) {
+		this.county = checkText("county", county);
+		return this;
+	}
+
+	public PropertyQuery withItemDueBetween(LocalDate from, LocalDate to) {
+		checkRange(from, to);
+		dueFrom = from;
+		dueTo = to;
+		return this;
+	}
+
+	public PropertyQuery withNoticeDueBetween(LocalDate from, LocalDate to) {
+		checkRange(from, to);
+		noticeFrom = from;
+		noticeTo = to;
+		return this;
+	}
+
+	public PropertyQuery withItemPeriod(Period period) {
+		if (period == null) {
+			throw new IllegalArgumentException("PropertyQuery: period was null");
+		}
+		this.period = period;
+		return this;
+	}
+
+	public PropertyQuery withOverdueItems() {
+		overdue = true;
+		return this;
+	}
+
+	public PropertyQuery withNoticesDue() {
+		noticeDue = true;
+		return this;
+	}
+
+	public PropertyQuery withManufacturer(String manufacturer) {
+		this.manufacturer = checkText("manufacturer", manufacturer);
+		return this;
+	}
+
+	public PropertyQuery withModel(String model) {
+		this.model = checkText("model", model);
+		return this;
+	}
+
+	public PropertyQuery withSerialNumber(String serialNumber) {
+		this.serialNumber = checkText("serialNumber", serialNumber);
+		return this;
+	}
+
+	public PropertyQuery orderBy(Order order) {
+		if (order == null) {
+			throw new IllegalArgumentException("PropertyQuery: order was null");
+		}
+		this.order = order;
+		return this;
+	}
+
+	public PropertyQuery limit(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("PropertyQuery: limit less than 1");
+		}
+		this.limit = limit;
+		return this;
+	}
+
+	public List<Property> execute() {
+		return execute(PropertyMonitor.instance().evaluationContext());
+	}
+
+	public List<Property> execute(EvaluationContext context) {
+		return PropertyMonitor.instance().query(this, context).properties();
+	}
+
+	public QueryPlan explain() {
+		return explain(PropertyMonitor.instance().evaluationContext());
+	}
+
+	public QueryPlan explain(EvaluationContext context) {
+		return PropertyMonitor.instance().query(this, context).plan();
+	}
+
+	String postCodePrefix() {
+		return postCodePrefix;
+	}
+
+	String street() {
+		return street;
+	}
+
+	String town() {
+		return town;
+	}
+
+	String county() {
+		return county;
+	}
+
+	LocalDate dueFrom() {
+		return dueFrom;
+	}
+
+	LocalDate dueTo() {
+		return dueTo;
+	}
+
+	LocalDate noticeFrom() {
+		return noticeFrom;
+	}
+
+	LocalDate noticeTo() {
+		return noticeTo;
+	}
+
+	Period period() {
+		return period;
+	}
+
+	boolean overdue() {
+		return overdue;
+	}
+
+	boolean noticeDue() {
+		return noticeDue;
+	}
+
+	String manufacturer() {
+		return manufacturer;
+	}
+
+	String model() {
+		return model;
+	}
+
+	String serialNumber() {
+		return serialNumber;
+	}
+
+	Order order() {
+		return order;
+	}
+
+	int limit() {
+		return limit;
+	}
+
+	boolean hasItemPredicate() {
+		return dueFrom != null || noticeFrom != null || period != null || overdue || noticeDue;
+	}
+
+	boolean hasInventoryPredicate() {
+		return manufacturer != null || model != null || serialNumber != null;
+	}
+
+	private String checkText(String name, String text) {
+		if (text == null) {
+			throw new IllegalArgumentException("PropertyQuery: " + name + " was null");
+		}
+		return text;
+	}
+
+	private void checkRange(LocalDate from, LocalDate to) {
+		if (from == null) {
+			throw new IllegalArgumentException("PropertyQuery: from was null");
+		}
+		if (to == null) {
+			throw new IllegalArgumentException("PropertyQuery: to was null");
+		}
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("PropertyQuery: to " + to + " is before from " + from);
+		}
+	}
+}
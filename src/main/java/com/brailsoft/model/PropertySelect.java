@@ -1,10 +1,17 @@
 package com.brailsoft.model;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.brailsoft.base.ApplicationConfiguration;
 
@@ -13,21 +20,40 @@ public class PropertySelect {
 	private static final Logger LOGGER = ApplicationConfiguration.logger();
 
 	private static final PropertyMonitor monitor = PropertyMonitor.instance();
+	private static final QueryCache cache = new QueryCache(QueryCache.DEFAULT_CAPACITY);
 
 	public synchronized static List<Property> withOverdueItems() {
-		LOGGER.entering(CLASS_NAME, "withOverdueItems");
-		List<Property> copyList = monitor.properties().stream().filter(property -> property.areItemsOverdue())
-				.collect(Collectors.toList());
-		Collections.sort(copyList);
+		return withOverdueItems(monitor.evaluationContext());
+	}
+
+	public synchronized static List<Property> withOverdueItems(EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "withOverdueItems", context);
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: context was null");
+			LOGGER.throwing(CLASS_NAME, "withOverdueItems", exc);
+			LOGGER.exiting(CLASS_NAME, "withOverdueItems");
+			throw exc;
+		}
+		List<Property> copyList = cached("withOverdueItems", List.of(context.asOf()), monitor.modelVersion(),
+				property -> new Property(property), () -> monitor.propertiesWithOverdueItems(context));
 		LOGGER.exiting(CLASS_NAME, "withOverdueItems", copyList);
 		return copyList;
 	}
 
 	public synchronized static List<Property> withOverdueNotices() {
-		LOGGER.entering(CLASS_NAME, "withOverdueNotices");
-		List<Property> copyList = monitor.properties().stream().filter(property -> property.areNoticesOverdue())
-				.collect(Collectors.toList());
-		Collections.sort(copyList);
+		return withOverdueNotices(monitor.evaluationContext());
+	}
+
+	public synchronized static List<Property> withOverdueNotices(EvaluationContext context) {
+		LOGGER.entering(CLASS_NAME, "withOverdueNotices", context);
+		if (context == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: context was null");
+			LOGGER.throwing(CLASS_NAME, "withOverdueNotices", exc);
+			LOGGER.exiting(CLASS_NAME, "withOverdueNotices");
+			throw exc;
+		}
+		List<Property> copyList = cached("withOverdueNotices", List.of(context.asOf()), monitor.modelVersion(),
+				property -> new Property(property), () -> monitor.propertiesWithOverdueNotices(context));
 		LOGGER.exiting(CLASS_NAME, "withOverdueNotices", copyList);
 		return copyList;
 	}
@@ -47,9 +73,9 @@ public class PropertySelect {
 			LOGGER.exiting(CLASS_NAME, "monitoredItemsFor");
 			throw exc;
 		}
-		List<MonitoredItem> copyList = monitor.findProperty(property).monitoredItems().stream()
-				.map(item -> new MonitoredItem(item)).collect(Collectors.toList());
-		Collections.sort(copyList);
+		List<MonitoredItem> copyList = cached("monitoredItemsFor", List.of(property.address()),
+				monitor.propertyVersion(property), item -> new MonitoredItem(item),
+				() -> monitor.monitoredItemsFor(property));
 		LOGGER.exiting(CLASS_NAME, "monitoredItemsFor", copyList);
 		return copyList;
 	}
@@ -83,9 +109,8 @@ public class PropertySelect {
 			LOGGER.exiting(CLASS_NAME, "overdueItemsFor");
 			throw exc;
 		}
-		List<MonitoredItem> overdueList = monitor.getAllItems().stream()
-				.filter(item -> item.timeForNextAction().equals(date)).collect(Collectors.toList());
-		Collections.sort(overdueList);
+		List<MonitoredItem> overdueList = cached("overdueItemsFor", List.of(date), monitor.modelVersion(),
+				item -> new MonitoredItem(item), () -> monitor.overdueItemsFor(date));
 		LOGGER.exiting(CLASS_NAME, "overdueItemsFor", overdueList);
 		return overdueList;
 	}
@@ -98,13 +123,350 @@ public class PropertySelect {
 			LOGGER.exiting(CLASS_NAME, "notifiedItemsFor");
 			throw exc;
 		}
-		List<MonitoredItem> notifiedList = monitor.getAllItems().stream()
-				.filter(item -> item.timeForNextNotice().equals(date)).collect(Collectors.toList());
-		Collections.sort(notifiedList);
+		List<MonitoredItem> notifiedList = cached("notifiedItemsFor", List.of(date), monitor.modelVersion(),
+				item -> new MonitoredItem(item), () -> monitor.notifiedItemsFor(date));
 		LOGGER.exiting(CLASS_NAME, "notifiedItemsFor", notifiedList);
 		return notifiedList;
 	}
 
+	public synchronized static List<MonitoredItem> itemsDueBetween(LocalDate from, LocalDate to) {
+		return itemsDueBetween(from, to, Integer.MAX_VALUE);
+	}
+
+	public synchronized static List<MonitoredItem> itemsDueBetween(LocalDate from, LocalDate to, int limit) {
+		LOGGER.entering(CLASS_NAME, "itemsDueBetween", new Object[] { from, to, limit });
+		checkRange("itemsDueBetween", from, to, limit);
+		List<MonitoredItem> dueList = cached("itemsDueBetween", List.of(from, to, limit), monitor.modelVersion(),
+				item -> new MonitoredItem(item), () -> monitor.itemsDueBetween(from, to, limit));
+		LOGGER.exiting(CLASS_NAME, "itemsDueBetween", dueList);
+		return dueList;
+	}
+
+	public synchronized static List<MonitoredItem> itemsDueWithin(int days) {
+		return itemsDueWithin(days, Integer.MAX_VALUE);
+	}
+
+	public synchronized static List<MonitoredItem> itemsDueWithin(int days, int limit) {
+		LOGGER.entering(CLASS_NAME, "itemsDueWithin", new Object[] { days, limit });
+		checkDays("itemsDueWithin", days);
+		LocalDate today = monitor.evaluationContext().asOf();
+		List<MonitoredItem> dueList = itemsDueBetween(today, today.plusDays(days), limit);
+		LOGGER.exiting(CLASS_NAME, "itemsDueWithin", dueList);
+		return dueList;
+	}
+
+	public synchronized static List<MonitoredItem> soonestDue(int limit) {
+		LOGGER.entering(CLASS_NAME, "soonestDue", limit);
+		checkLimit("soonestDue", limit);
+		List<MonitoredItem> dueList = monitor.soonestDue(limit);
+		LOGGER.exiting(CLASS_NAME, "soonestDue", dueList);
+		return dueList;
+	}
+
+	public synchronized static List<MonitoredItem> soonestDue(Property property, int limit) {
+		LOGGER.entering(CLASS_NAME, "soonestDue", new Object[] { property, limit });
+		if (property == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: property was null");
+			LOGGER.throwing(CLASS_NAME, "soonestDue", exc);
+			LOGGER.exiting(CLASS_NAME, "soonestDue");
+			throw exc;
+		}
+		if (monitor.findProperty(property) == null) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertySelect: property " + property + " not found");
+			LOGGER.throwing(CLASS_NAME, "soonestDue", exc);
+			LOGGER.exiting(CLASS_NAME, "soonestDue");
+			throw exc;
+		}
+		checkLimit("soonestDue", limit);
+		List<MonitoredItem> dueList = monitor.soonestDue(property, limit);
+		LOGGER.exiting(CLASS_NAME, "soonestDue", dueList);
+		return dueList;
+	}
+
+	public synchronized static List<MonitoredItem> noticesDueBetween(LocalDate from, LocalDate to) {
+		return noticesDueBetween(from, to, Integer.MAX_VALUE);
+	}
+
+	public synchronized static List<MonitoredItem> noticesDueBetween(LocalDate from, LocalDate to, int limit) {
+		LOGGER.entering(CLASS_NAME, "noticesDueBetween", new Object[] { from, to, limit });
+		checkRange("noticesDueBetween", from, to, limit);
+		List<MonitoredItem> noticeList = cached("noticesDueBetween", List.of(from, to, limit),
+				monitor.modelVersion(), item -> new MonitoredItem(item),
+				() -> monitor.noticesDueBetween(from, to, limit));
+		LOGGER.exiting(CLASS_NAME, "noticesDueBetween", noticeList);
+		return noticeList;
+	}
+
+	public synchronized static List<MonitoredItem> noticesDueWithin(int days) {
+		return noticesDueWithin(days, Integer.MAX_VALUE);
+	}
+
+	public synchronized static List<MonitoredItem> noticesDueWithin(int days, int limit) {
+		LOGGER.entering(CLASS_NAME, "noticesDueWithin", new Object[] { days, limit });
+		checkDays("noticesDueWithin", days);
+		LocalDate today = monitor.evaluationContext().asOf();
+		List<MonitoredItem> noticeList = noticesDueBetween(today, today.plusDays(days), limit);
+		LOGGER.exiting(CLASS_NAME, "noticesDueWithin", noticeList);
+		return noticeList;
+	}
+
+	public synchronized static Stream<MonitoredItem> streamOverdueItems(LocalDate date) {
+		LOGGER.entering(CLASS_NAME, "streamOverdueItems", date);
+		if (date == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: date was null");
+			LOGGER.throwing(CLASS_NAME, "streamOverdueItems", exc);
+			LOGGER.exiting(CLASS_NAME, "streamOverdueItems");
+			throw exc;
+		}
+		Stream<MonitoredItem> stream = monitor.itemEntriesDueBetween(date, date).stream()
+				.map(entry -> new MonitoredItem(entry));
+		LOGGER.exiting(CLASS_NAME, "streamOverdueItems", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<MonitoredItem> streamItemsDueBetween(LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "streamItemsDueBetween", new Object[] { from, to });
+		checkRange("streamItemsDueBetween", from, to);
+		Stream<MonitoredItem> stream = monitor.itemEntriesDueBetween(from, to).stream()
+				.map(entry -> new MonitoredItem(entry));
+		LOGGER.exiting(CLASS_NAME, "streamItemsDueBetween", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<MonitoredItem> streamNoticesDueBetween(LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "streamNoticesDueBetween", new Object[] { from, to });
+		checkRange("streamNoticesDueBetween", from, to);
+		Stream<MonitoredItem> stream = monitor.noticeEntriesDueBetween(from, to).stream()
+				.map(entry -> new MonitoredItem(entry));
+		LOGGER.exiting(CLASS_NAME, "streamNoticesDueBetween", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<Occurrence> forecast(LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "forecast", new Object[] { from, to });
+		checkRange("forecast", from, to);
+		Stream<Occurrence> stream = Forecast.of(monitor.forecastEntries(), from, to);
+		LOGGER.exiting(CLASS_NAME, "forecast", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<Occurrence> forecastWithin(int months) {
+		LOGGER.entering(CLASS_NAME, "forecastWithin", months);
+		if (months < 0) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: months less than 0");
+			LOGGER.throwing(CLASS_NAME, "forecastWithin", exc);
+			LOGGER.exiting(CLASS_NAME, "forecastWithin");
+			throw exc;
+		}
+		LocalDate today = monitor.evaluationContext().asOf();
+		Stream<Occurrence> stream = forecast(today, today.plusMonths(months));
+		LOGGER.exiting(CLASS_NAME, "forecastWithin", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<Occurrence> forecastForRegion(String postCodePrefix, LocalDate from,
+			LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "forecastForRegion", new Object[] { postCodePrefix, from, to });
+		checkText("forecastForRegion", postCodePrefix);
+		checkRange("forecastForRegion", from, to);
+		Stream<Occurrence> stream = Forecast.of(monitor.forecastEntriesWithPostCodePrefix(postCodePrefix), from, to);
+		LOGGER.exiting(CLASS_NAME, "forecastForRegion", stream);
+		return stream;
+	}
+
+	public synchronized static Stream<Occurrence> forecastFor(Property property, LocalDate from, LocalDate to) {
+		LOGGER.entering(CLASS_NAME, "forecastFor", new Object[] { property, from, to });
+		if (property == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: property was null");
+			LOGGER.throwing(CLASS_NAME, "forecastFor", exc);
+			LOGGER.exiting(CLASS_NAME, "forecastFor");
+			throw exc;
+		}
+		if (monitor.findProperty(property) == null) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertySelect: property " + property + " not found");
+			LOGGER.throwing(CLASS_NAME, "forecastFor", exc);
+			LOGGER.exiting(CLASS_NAME, "forecastFor");
+			throw exc;
+		}
+		checkRange("forecastFor", from, to);
+		Stream<Occurrence> stream = Forecast.of(monitor.forecastEntries(property), from, to);
+		LOGGER.exiting(CLASS_NAME, "forecastFor", stream);
+		return stream;
+	}
+
+	public synchronized static Page<MonitoredItem> itemsDuePage(LocalDate from, LocalDate to, int offset,
+			int limit) {
+		LOGGER.entering(CLASS_NAME, "itemsDuePage", new Object[] { from, to, offset, limit });
+		checkRange("itemsDuePage", from, to);
+		checkPage("itemsDuePage", offset, limit);
+		Page<MonitoredItem> page = pageOf(monitor.itemEntriesDueBetween(from, to), offset, limit);
+		LOGGER.exiting(CLASS_NAME, "itemsDuePage", page);
+		return page;
+	}
+
+	public synchronized static Page<MonitoredItem> noticesDuePage(LocalDate from, LocalDate to, int offset,
+			int limit) {
+		LOGGER.entering(CLASS_NAME, "noticesDuePage", new Object[] { from, to, offset, limit });
+		checkRange("noticesDuePage", from, to);
+		checkPage("noticesDuePage", offset, limit);
+		Page<MonitoredItem> page = pageOf(monitor.noticeEntriesDueBetween(from, to), offset, limit);
+		LOGGER.exiting(CLASS_NAME, "noticesDuePage", page);
+		return page;
+	}
+
+	public synchronized static Page<MonitoredItem> itemsDueAfter(LocalDate from, LocalDate to, MonitoredItem last,
+			int limit) {
+		LOGGER.entering(CLASS_NAME, "itemsDueAfter", new Object[] { from, to, last, limit });
+		checkRange("itemsDueAfter", from, to);
+		checkLimit("itemsDueAfter", limit);
+		Page<MonitoredItem> page = pageAfter(monitor.itemEntriesDueBetween(from, to), last, limit,
+				ScheduleIndex.DUE_ORDER);
+		LOGGER.exiting(CLASS_NAME, "itemsDueAfter", page);
+		return page;
+	}
+
+	public synchronized static Page<MonitoredItem> noticesDueAfter(LocalDate from, LocalDate to, MonitoredItem last,
+			int limit) {
+		LOGGER.entering(CLASS_NAME, "noticesDueAfter", new Object[] { from, to, last, limit });
+		checkRange("noticesDueAfter", from, to);
+		checkLimit("noticesDueAfter", limit);
+		Page<MonitoredItem> page = pageAfter(monitor.noticeEntriesDueBetween(from, to), last, limit,
+				ScheduleIndex.NOTICE_ORDER);
+		LOGGER.exiting(CLASS_NAME, "noticesDueAfter", page);
+		return page;
+	}
+
+	public synchronized static Page<Property> propertiesAfter(Property last, int limit) {
+		LOGGER.entering(CLASS_NAME, "propertiesAfter", new Object[] { last, limit });
+		checkLimit("propertiesAfter", limit);
+		Page<Property> page = monitor.propertiesAfter(last, limit);
+		LOGGER.exiting(CLASS_NAME, "propertiesAfter", page);
+		return page;
+	}
+
+	public synchronized static Page<Property> propertiesPage(int offset, int limit) {
+		LOGGER.entering(CLASS_NAME, "propertiesPage", new Object[] { offset, limit });
+		checkPage("propertiesPage", offset, limit);
+		Page<Property> page = monitor.propertiesPage(offset, limit);
+		LOGGER.exiting(CLASS_NAME, "propertiesPage", page);
+		return page;
+	}
+
+	public synchronized static List<InventoryItem> searchInventory(String text) {
+		LOGGER.entering(CLASS_NAME, "searchInventory", text);
+		checkText("searchInventory", text);
+		List<InventoryItem> matches = monitor.searchInventory(text);
+		LOGGER.exiting(CLASS_NAME, "searchInventory", matches);
+		return matches;
+	}
+
+	public synchronized static List<InventoryItem> searchInventoryByPrefix(String prefix) {
+		LOGGER.entering(CLASS_NAME, "searchInventoryByPrefix", prefix);
+		checkText("searchInventoryByPrefix", prefix);
+		List<InventoryItem> matches = monitor.searchInventoryByPrefix(prefix);
+		LOGGER.exiting(CLASS_NAME, "searchInventoryByPrefix", matches);
+		return matches;
+	}
+
+	public synchronized static List<Property> withInventoryMatching(String text) {
+		LOGGER.entering(CLASS_NAME, "withInventoryMatching", text);
+		checkText("withInventoryMatching", text);
+		List<Property> copyList = monitor.propertiesWithInventoryMatching(text);
+		LOGGER.exiting(CLASS_NAME, "withInventoryMatching", copyList);
+		return copyList;
+	}
+
+	public synchronized static List<Property> withSerialNumber(String serialNumber) {
+		LOGGER.entering(CLASS_NAME, "withSerialNumber", serialNumber);
+		checkText("withSerialNumber", serialNumber);
+		List<Property> copyList = monitor.propertiesWithSerialNumbers(List.of(serialNumber))
+				.getOrDefault(serialNumber, new ArrayList<>());
+		LOGGER.exiting(CLASS_NAME, "withSerialNumber", copyList);
+		return copyList;
+	}
+
+	public synchronized static Map<String, List<Property>> withSerialNumbers(Collection<String> serialNumbers) {
+		LOGGER.entering(CLASS_NAME, "withSerialNumbers", serialNumbers);
+		if (serialNumbers == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: serialNumbers was null");
+			LOGGER.throwing(CLASS_NAME, "withSerialNumbers", exc);
+			LOGGER.exiting(CLASS_NAME, "withSerialNumbers");
+			throw exc;
+		}
+		if (serialNumbers.stream().anyMatch(serialNumber -> serialNumber == null)) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertySelect: serialNumbers contained null");
+			LOGGER.throwing(CLASS_NAME, "withSerialNumbers", exc);
+			LOGGER.exiting(CLASS_NAME, "withSerialNumbers");
+			throw exc;
+		}
+		Map<String, List<Property>> result = monitor.propertiesWithSerialNumbers(serialNumbers);
+		LOGGER.exiting(CLASS_NAME, "withSerialNumbers", result);
+		return result;
+	}
+
+	public synchronized static List<Property> withModel(String manufacturer, String model) {
+		LOGGER.entering(CLASS_NAME, "withModel", new Object[] { manufacturer, model });
+		checkText("withModel", manufacturer);
+		checkText("withModel", model);
+		List<Property> copyList = monitor.propertiesWithModel(manufacturer, model);
+		LOGGER.exiting(CLASS_NAME, "withModel", copyList);
+		return copyList;
+	}
+
+	public synchronized static Map<String, List<Property>> duplicateSerialNumbers() {
+		LOGGER.entering(CLASS_NAME, "duplicateSerialNumbers");
+		Map<String, List<Property>> result = monitor.duplicateSerialNumbers();
+		LOGGER.exiting(CLASS_NAME, "duplicateSerialNumbers", result);
+		return result;
+	}
+
+	public synchronized static List<Property> withPostCodeArea(String area) {
+		LOGGER.entering(CLASS_NAME, "withPostCodeArea", area);
+		checkText("withPostCodeArea", area);
+		List<Property> copyList = monitor.propertiesInPostCodeArea(area);
+		LOGGER.exiting(CLASS_NAME, "withPostCodeArea", copyList);
+		return copyList;
+	}
+
+	public synchronized static List<Property> withPostCodeDistrict(String district) {
+		LOGGER.entering(CLASS_NAME, "withPostCodeDistrict", district);
+		checkText("withPostCodeDistrict", district);
+		List<Property> copyList = monitor.propertiesInPostCodeDistrict(district);
+		LOGGER.exiting(CLASS_NAME, "withPostCodeDistrict", copyList);
+		return copyList;
+	}
+
+	public synchronized static List<Property> withPostCodePrefix(String prefix) {
+		LOGGER.entering(CLASS_NAME, "withPostCodePrefix", prefix);
+		checkText("withPostCodePrefix", prefix);
+		List<Property> copyList = monitor.propertiesWithPostCodePrefix(prefix);
+		LOGGER.exiting(CLASS_NAME, "withPostCodePrefix", copyList);
+		return copyList;
+	}
+
+	public synchronized static List<Property> inTown(String town) {
+		LOGGER.entering(CLASS_NAME, "inTown", town);
+		checkText("inTown", town);
+		List<Property> copyList = monitor.propertiesInTown(town);
+		LOGGER.exiting(CLASS_NAME, "inTown", copyList);
+		return copyList;
+	}
+
+	public synchronized static List<Property> inCounty(String county) {
+		LOGGER.entering(CLASS_NAME, "inCounty", county);
+		checkText("inCounty", county);
+		List<Property> copyList = monitor.propertiesInCounty(county);
+		LOGGER.exiting(CLASS_NAME, "inCounty", copyList);
+		return copyList;
+	}
+
+	public static PropertyQuery query() {
+		return new PropertyQuery();
+	}
+
 	public synchronized static List<InventoryItem> inventoryFor(Property property) {
 		LOGGER.entering(CLASS_NAME, "getInventoryFor", property);
 		if (property == null) {
@@ -120,10 +482,109 @@ public class PropertySelect {
 			LOGGER.exiting(CLASS_NAME, "getInventoryFor");
 			throw exc;
 		}
-		List<InventoryItem> copyList = monitor.findProperty(property).inventoryItems().stream()
-				.map(item -> new InventoryItem(item)).sorted().collect(Collectors.toList());
+		List<InventoryItem> copyList = cached("inventoryFor", List.of(property.address()),
+				monitor.propertyVersion(property), item -> new InventoryItem(item),
+				() -> monitor.inventoryItemsFor(property));
 		LOGGER.exiting(CLASS_NAME, "getInventoryFor", copyList);
 		return copyList;
 	}
 
+	static QueryCache cache() {
+		return cache;
+	}
+
+	private static <T> List<T> cached(String query, List<Object> parameters, long version, UnaryOperator<T> copier,
+			Supplier<List<T>> loader) {
+		QueryCache.Key key = new QueryCache.Key(query, parameters);
+		@SuppressWarnings("unchecked")
+		List<T> result = (List<T>) cache.get(key, version);
+		if (result == null) {
+			result = loader.get();
+			cache.put(key, version, result);
+		}
+		return result.stream().map(copier).collect(Collectors.toList());
+	}
+
+	private static void checkRange(String method, LocalDate from, LocalDate to, int limit) {
+		checkRange(method, from, to);
+		checkLimit(method, limit);
+	}
+
+	private static void checkRange(String method, LocalDate from, LocalDate to) {
+		if (from == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: from was null");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+		if (to == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: to was null");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+		if (to.isBefore(from)) {
+			IllegalArgumentException exc = new IllegalArgumentException(
+					"PropertySelect: to " + to + " is before from " + from);
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+	}
+
+	private static void checkLimit(String method, int limit) {
+		if (limit < 1) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: limit less than 1");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+	}
+
+	private static void checkPage(String method, int offset, int limit) {
+		if (offset < 0) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: offset less than 0");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+		checkLimit(method, limit);
+	}
+
+	private static Page<MonitoredItem> pageAfter(List<MonitoredItem> entryList, MonitoredItem last, int limit,
+			Comparator<MonitoredItem> order) {
+		int from = 0;
+		if (last != null) {
+			int found = Collections.binarySearch(entryList, last, order);
+			from = found >= 0 ? found + 1 : -found - 1;
+		}
+		return pageOf(entryList, from, limit);
+	}
+
+	private static Page<MonitoredItem> pageOf(List<MonitoredItem> entryList, int offset, int limit) {
+		int from = Math.min(offset, entryList.size());
+		int to = (int) Math.min((long) from + limit, entryList.size());
+		List<MonitoredItem> copyList = entryList.subList(from, to).stream().map(entry -> new MonitoredItem(entry))
+				.collect(Collectors.toList());
+		return new Page<>(copyList, offset, entryList.size());
+	}
+
+	private static void checkText(String method, String text) {
+		if (text == null) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: text was null");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+	}
+
+	private static void checkDays(String method, int days) {
+		if (days < 0) {
+			IllegalArgumentException exc = new IllegalArgumentException("PropertySelect: days less than 0");
+			LOGGER.throwing(CLASS_NAME, method, exc);
+			LOGGER.exiting(CLASS_NAME, method);
+			throw exc;
+		}
+	}
+
 }
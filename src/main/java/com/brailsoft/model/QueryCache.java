@@ -0,0 +1,68 @@
+package com.brailsoft.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class QueryCache {
+	static final int DEFAULT_CAPACITY = 256;
+
+	record Key(String query, List<Object> parameters) {
+	}
+
+	private record Entry(long version, List<?> result) {
+	}
+
+	private final int capacity;
+	private final LinkedHashMap<Key, Entry> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+	QueryCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("QueryCache: capacity less than 1");
+		}
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > QueryCache.this.capacity;
+			}
+		};
+	}
+
+	synchronized List<?> get(Key key, long version) {
+		Entry entry = entries.get(key);
+		if (entry == null || entry.version() != version) {
+			if (entry != null) {
+				entries.remove(key);
+			}
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.result();
+	}
+
+	synchronized void put(Key key, long version, List<?> result) {
+		entries.put(key, new Entry(version, List.copyOf(result)));
+	}
+
+	synchronized void clear() {
+		entries.clear();
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	synchronized long hits() {
+		return hits;
+	}
+
+	synchronized long misses() {
+		return misses;
+	}
+}
@@ -0,0 +1,21 @@
+package com.brailsoft.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record QueryPlan(String access, int estimatedRows, int rowsExamined, int rowsReturned,
+		Map<String, Integer> estimates) {
+	public QueryPlan {
+		if (access == null) {
+			throw new IllegalArgumentException("QueryPlan: access was null");
+		}
+		estimates = Collections.unmodifiableMap(new LinkedHashMap<>(estimates));
+	}
+
+	@Override
+	public String toString() {
+		return access + " (estimated " + estimatedRows + ", examined " + rowsExamined + ", returned " + rowsReturned
+				+ ") considered " + estimates;
+	}
+}
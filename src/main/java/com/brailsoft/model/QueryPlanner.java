@@ -0,0 +1,194 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+class QueryPlanner {
+	record QueryResult(List<Property> properties, QueryPlan plan) {
+	}
+
+	private record AccessPath(String name, int estimate, Supplier<Collection<Property>> candidates) {
+	}
+
+	private final List<Property> properties;
+	private final Map<Property, Property> propertyLookup;
+	private final AddressIndex addressIndex;
+	private final ScheduleIndex schedule;
+	private final InventoryIndex inventoryIndex;
+	private final StatisticsIndex statistics;
+
+	QueryPlanner(List<Property> properties, Map<Property, Property> propertyLookup, AddressIndex addressIndex,
+			ScheduleIndex schedule, InventoryIndex inventoryIndex, StatisticsIndex statistics) {
+		this.properties = properties;
+		this.propertyLookup = propertyLookup;
+		this.addressIndex = addressIndex;
+		this.schedule = schedule;
+		this.inventoryIndex = inventoryIndex;
+		this.statistics = statistics;
+	}
+
+	QueryResult execute(PropertyQuery query, LocalDate today) {
+		List<AccessPath> paths = accessPaths(query, today);
+		AccessPath chosen = paths.get(0);
+		Map<String, Integer> estimates = new LinkedHashMap<>();
+		for (AccessPath path : paths) {
+			estimates.put(path.name(), path.estimate());
+			if (path.estimate() <= chosen.estimate()) {
+				chosen = path;
+			}
+		}
+		Collection<Property> candidates = chosen.candidates().get();
+		List<Property> matches = new ArrayList<>();
+		for (Property candidate : candidates) {
+			if (matches(query, candidate, today)) {
+				matches.add(candidate);
+			}
+		}
+		matches.sort(orderOf(query));
+		List<Property> copyList = matches.stream().limit(query.limit()).map(property -> new Property(property))
+				.collect(Collectors.toList());
+		QueryPlan plan = new QueryPlan(chosen.name(), chosen.estimate(), candidates.size(), copyList.size(),
+				estimates);
+		return new QueryResult(copyList, plan);
+	}
+
+	private List<AccessPath> accessPaths(PropertyQuery query, LocalDate today) {
+		List<AccessPath> paths = new ArrayList<>();
+		paths.add(new AccessPath("scan", properties.size(), () -> properties));
+		if (query.postCodePrefix() != null) {
+			paths.add(new AccessPath("postcode " + query.postCodePrefix(),
+					addressIndex.countWithPostCodePrefix(query.postCodePrefix()),
+					() -> addressIndex.withPostCodePrefix(query.postCodePrefix())));
+		}
+		if (query.town() != null) {
+			paths.add(new AccessPath("town " + query.town(), addressIndex.countInTown(query.town()),
+					() -> addressIndex.inTown(query.town())));
+		}
+		if (query.county() != null) {
+			paths.add(new AccessPath("county " + query.county(), addressIndex.countInCounty(query.county()),
+					() -> addressIndex.inCounty(query.county())));
+		}
+		if (query.dueFrom() != null) {
+			paths.add(new AccessPath("due " + query.dueFrom() + ".." + query.dueTo(),
+					schedule.countActionsBetween(query.dueFrom(), query.dueTo()),
+					() -> ownersOf(schedule.actionEntriesBetween(query.dueFrom(), query.dueTo()))));
+		}
+		if (query.noticeFrom() != null) {
+			paths.add(new AccessPath("notice " + query.noticeFrom() + ".." + query.noticeTo(),
+					schedule.countNoticesBetween(query.noticeFrom(), query.noticeTo()),
+					() -> ownersOf(schedule.noticeEntriesBetween(query.noticeFrom(), query.noticeTo()))));
+		}
+		if (query.overdue()) {
+			Set<Property> owners = schedule.ownersWithOverdueItems(today);
+			paths.add(new AccessPath("overdue " + today, owners.size(), () -> stored(owners)));
+		}
+		if (query.noticeDue()) {
+			Set<Property> owners = schedule.ownersWithOverdueNotices(today);
+			paths.add(new AccessPath("noticedue " + today, owners.size(), () -> stored(owners)));
+		}
+		if (query.serialNumber() != null) {
+			Set<Property> owners = inventoryIndex.ownersOfSerialNumbers(List.of(query.serialNumber()))
+					.getOrDefault(query.serialNumber(), new TreeSet<>());
+			paths.add(new AccessPath("serialnumber " + query.serialNumber(), owners.size(), () -> stored(owners)));
+		}
+		if (query.manufacturer() != null && query.model() != null) {
+			Set<Property> owners = inventoryIndex.ownersOfModel(query.manufacturer(), query.model());
+			paths.add(new AccessPath("model " + query.manufacturer() + "/" + query.model(), owners.size(),
+					() -> stored(owners)));
+		}
+		return paths;
+	}
+
+	private Collection<Property> ownersOf(List<MonitoredItem> entries) {
+		Set<Property> owners = new TreeSet<>();
+		entries.stream().forEach(entry -> owners.add(entry.ownerProperty().get()));
+		return stored(owners);
+	}
+
+	private Collection<Property> stored(Set<Property> owners) {
+		return owners.stream().map(owner -> propertyLookup.get(owner)).collect(Collectors.toList());
+	}
+
+	private boolean matches(PropertyQuery query, Property property, LocalDate today) {
+		Address address = property.address();
+		if (query.postCodePrefix() != null
+				&& !AddressIndex.matchesPostCodePrefix(address.postCode(), query.postCodePrefix())) {
+			return false;
+		}
+		if (query.street() != null && !address.linesOfAddress()[0].toLowerCase(Locale.ROOT)
+				.contains(query.street().trim().toLowerCase(Locale.ROOT))) {
+			return false;
+		}
+		if (query.town() != null && !AddressIndex.matchesTown(address, query.town())) {
+			return false;
+		}
+		if (query.county() != null && !AddressIndex.matchesCounty(address, query.county())) {
+			return false;
+		}
+		if (query.hasItemPredicate()
+				&& !schedule.entriesFor(property).stream().anyMatch(item -> matches(query, item, today))) {
+			return false;
+		}
+		if (query.hasInventoryPredicate()
+				&& !inventoryIndex.entriesFor(property).stream().anyMatch(item -> matches(query, item))) {
+			return false;
+		}
+		return true;
+	}
+
+	private boolean matches(PropertyQuery query, MonitoredItem item, LocalDate today) {
+		if (query.dueFrom() != null && !within(item.timeForNextAction(), query.dueFrom(), query.dueTo())) {
+			return false;
+		}
+		if (query.noticeFrom() != null && !within(item.timeForNextNotice(), query.noticeFrom(), query.noticeTo())) {
+			return false;
+		}
+		if (query.period() != null && item.periodForNextAction() != query.period()) {
+			return false;
+		}
+		if (query.overdue() && !item.overdue(today)) {
+			return false;
+		}
+		if (query.noticeDue() && (item.overdue(today) || !item.noticeDue(today))) {
+			return false;
+		}
+		return true;
+	}
+
+	private boolean matches(PropertyQuery query, InventoryItem item) {
+		if (query.manufacturer() != null
+				&& !item.manufacturer().trim().equalsIgnoreCase(query.manufacturer().trim())) {
+			return false;
+		}
+		if (query.model() != null && !item.model().trim().equalsIgnoreCase(query.model().trim())) {
+			return false;
+		}
+		if (query.serialNumber() != null
+				&& !item.serialNumber().trim().equalsIgnoreCase(query.serialNumber().trim())) {
+			return false;
+		}
+		return true;
+	}
+
+	private boolean within(LocalDate date, LocalDate from, LocalDate to) {
+		return !date.isBefore(from) && !date.isAfter(to);
+	}
+
+	private Comparator<Property> orderOf(PropertyQuery query) {
+		if (query.order() == PropertyQuery.Order.NEXT_DUE) {
+			return Comparator.comparing((Property property) -> statistics.nextDueFor(property),
+					Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(Comparator.naturalOrder());
+		}
+		return Comparator.naturalOrder();
+	}
+}
@@ -0,0 +1,244 @@
+package com.brailsoft.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.brailsoft.base.ApplicationConfiguration;
+import com.brailsoft.base.Notification;
+import com.brailsoft.base.NotificationListener;
+
+public class QueuedListener implements NotificationListener {
+	private static final String CLASS_NAME = QueuedListener.class.getName();
+	private static final Logger LOGGER = ApplicationConfiguration.logger();
+
+	public static final int DEFAULT_CAPACITY = 256;
+
+	public enum Overflow {
+		BLOCK, DROP_OLDEST, CONFLATE
+	}
+
+	private static class Slot {
+		private final List<Object> key;
+		private Notification notification;
+
+		Slot(List<Object> key, Notification notification) {
+			this.key = key;
+			this.notification = notification;
+		}
+	}
+
+	private final NotificationListener delegate;
+	private final int capacity;
+	private final Overflow overflow;
+	private final Deque<Slot> queue = new ArrayDeque<>();
+	private final Map<List<Object>, Slot> pendingByEntity = new HashMap<>();
+	private final Thread deliverer;
+	private boolean closed = false;
+	private boolean delivering = false;
+	private int maxDepth = 0;
+	private long delivered = 0;
+	private long dropped = 0;
+	private long conflated = 0;
+
+	public QueuedListener(NotificationListener delegate) {
+		this(delegate, DEFAULT_CAPACITY, Overflow.BLOCK);
+	}
+
+	public QueuedListener(NotificationListener delegate, int capacity, Overflow overflow) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("QueuedListener: delegate was null");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("QueuedListener: capacity less than 1");
+		}
+		if (overflow == null) {
+			throw new IllegalArgumentException("QueuedListener: overflow was null");
+		}
+		this.delegate = delegate;
+		this.capacity = capacity;
+		this.overflow = overflow;
+		this.deliverer = new Thread(() -> deliver(), "QueuedListener");
+		this.deliverer.setDaemon(true);
+		this.deliverer.start();
+	}
+
+	@Override
+	public void notify(Notification notification) {
+		if (notification == null) {
+			throw new IllegalArgumentException("QueuedListener: notification was null");
+		}
+		synchronized (this) {
+			if (closed) {
+				dropped++;
+				return;
+			}
+			while (queue.size() >= capacity) {
+				if (overflow == Overflow.CONFLATE && conflate(notification)) {
+					return;
+				}
+				if (overflow != Overflow.BLOCK) {
+					discard(queue.poll());
+					continue;
+				}
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					LOGGER.warning("QueuedListener: interrupted while queue full, dropped " + notification);
+					dropped++;
+					return;
+				}
+				if (closed) {
+					dropped++;
+					return;
+				}
+			}
+			List<Object> key = overflow == Overflow.CONFLATE ? conflationKey(notification) : null;
+			Slot slot = new Slot(key, notification);
+			queue.add(slot);
+			if (key != null) {
+				pendingByEntity.put(key, slot);
+			}
+			maxDepth = Math.max(maxDepth, queue.size());
+			notifyAll();
+		}
+	}
+
+	public void flush() {
+		LOGGER.entering(CLASS_NAME, "flush");
+		synchronized (this) {
+			while ((!queue.isEmpty() || delivering) && deliverer.isAlive()) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		LOGGER.exiting(CLASS_NAME, "flush");
+	}
+
+	public void close() {
+		LOGGER.entering(CLASS_NAME, "close");
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		if (Thread.currentThread() != deliverer) {
+			try {
+				deliverer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		LOGGER.exiting(CLASS_NAME, "close");
+	}
+
+	public Overflow overflow() {
+		return overflow;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public synchronized int depth() {
+		return queue.size();
+	}
+
+	public synchronized int maxDepth() {
+		return maxDepth;
+	}
+
+	public synchronized long delivered() {
+		return delivered;
+	}
+
+	public synchronized long dropped() {
+		return dropped;
+	}
+
+	public synchronized long conflated() {
+		return conflated;
+	}
+
+	private boolean conflate(Notification notification) {
+		List<Object> key = conflationKey(notification);
+		Slot pending = key == null ? null : pendingByEntity.get(key);
+		if (pending == null) {
+			return false;
+		}
+		BatchNotificationType next = NotificationBatcher.batchTypeOf(notification.notificationType());
+		BatchNotificationType merged = NotificationBatcher
+				.coalesce(NotificationBatcher.batchTypeOf(pending.notification.notificationType()), next);
+		conflated++;
+		if (merged == null) {
+			queue.remove(pending);
+			pendingByEntity.remove(key);
+			notifyAll();
+		} else if (merged == next) {
+			pending.notification = notification;
+		} else {
+			pending.notification = new Notification(
+					NotificationBatcher.notificationTypeOf(notification.notificationType(), merged),
+					notification.source(), notification.subject().get());
+		}
+		return true;
+	}
+
+	private List<Object> conflationKey(Notification notification) {
+		if (NotificationBatcher.batchTypeOf(notification.notificationType()) == null) {
+			return null;
+		}
+		return notification.subject().map(subject -> NotificationBatcher.keyOf(subject)).orElse(null);
+	}
+
+	private void discard(Slot slot) {
+		if (slot.key != null) {
+			pendingByEntity.remove(slot.key, slot);
+		}
+		dropped++;
+		LOGGER.fine("QueuedListener: queue full, dropped " + slot.notification);
+	}
+
+	private void deliver() {
+		while (true) {
+			Slot slot;
+			synchronized (this) {
+				while (queue.isEmpty() && !closed) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						notifyAll();
+						return;
+					}
+				}
+				if (queue.isEmpty()) {
+					notifyAll();
+					return;
+				}
+				slot = queue.poll();
+				if (slot.key != null) {
+					pendingByEntity.remove(slot.key, slot);
+				}
+				delivering = true;
+				notifyAll();
+			}
+			try {
+				delegate.notify(slot.notification);
+			} catch (Exception e) {
+				LOGGER.warning("QueuedListener: caught exception: " + e.getMessage());
+			}
+			synchronized (this) {
+				delivering = false;
+				delivered++;
+				notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class ScheduleIndex {
+	private static final Comparator<MonitoredItem> SCHEDULE_ORDER = Comparator
+			.comparing((MonitoredItem item) -> item.ownerProperty().get()).thenComparing(MonitoredItem::description);
+	static final Comparator<MonitoredItem> DUE_ORDER = Comparator.comparing(MonitoredItem::timeForNextAction)
+			.thenComparing(SCHEDULE_ORDER);
+	static final Comparator<MonitoredItem> NOTICE_ORDER = Comparator.comparing(MonitoredItem::timeForNextNotice)
+			.thenComparing(SCHEDULE_ORDER);
+
+	private final NavigableMap<LocalDate, Set<MonitoredItem>> actions = new TreeMap<>();
+	private final NavigableMap<LocalDate, Set<MonitoredItem>> notices = new TreeMap<>();
+	private final Map<Property, Map<String, MonitoredItem>> entries = new HashMap<>();
+
+	private LocalDate asOf = null;
+	private final NavigableMap<Property, Integer> overdueItems = new TreeMap<>();
+	private final NavigableMap<Property, Integer> overdueNotices = new TreeMap<>();
+
+	void add(MonitoredItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("ScheduleIndex: item was null");
+		}
+		MonitoredItem entry = new MonitoredItem(item);
+		Map<String, MonitoredItem> itemsForOwner = entries.computeIfAbsent(entry.ownerProperty().get(),
+				owner -> new HashMap<>());
+		MonitoredItem previous = itemsForOwner.put(entry.description(), entry);
+		if (previous != null) {
+			unlink(previous);
+		}
+		link(entry);
+	}
+
+	void replace(MonitoredItem item) {
+		add(item);
+	}
+
+	void setVersionOf(MonitoredItem item, long version) {
+		Map<String, MonitoredItem> itemsForOwner = entries.get(item.ownerProperty().get());
+		MonitoredItem entry = itemsForOwner == null ? null : itemsForOwner.get(item.description());
+		if (entry != null) {
+			MonitoredItem stamped = new MonitoredItem(entry);
+			stamped.setVersion(version);
+			add(stamped);
+		}
+	}
+
+	void remove(MonitoredItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("ScheduleIndex: item was null");
+		}
+		Property owner = item.ownerProperty().get();
+		Map<String, MonitoredItem> itemsForOwner = entries.get(owner);
+		if (itemsForOwner == null) {
+			return;
+		}
+		MonitoredItem previous = itemsForOwner.remove(item.description());
+		if (previous != null) {
+			unlink(previous);
+		}
+		if (itemsForOwner.isEmpty()) {
+			entries.remove(owner);
+		}
+	}
+
+	void remove(Property property) {
+		if (property == null) {
+			throw new IllegalArgumentException("ScheduleIndex: property was null");
+		}
+		Map<String, MonitoredItem> itemsForOwner = entries.remove(property);
+		if (itemsForOwner != null) {
+			itemsForOwner.values().stream().forEach(entry -> unlink(entry));
+		}
+	}
+
+	void clear() {
+		actions.clear();
+		notices.clear();
+		entries.clear();
+		asOf = null;
+		overdueItems.clear();
+		overdueNotices.clear();
+	}
+
+	List<MonitoredItem> actionsOn(LocalDate date) {
+		return copyOf(actions.get(date));
+	}
+
+	List<MonitoredItem> noticesOn(LocalDate date) {
+		return copyOf(notices.get(date));
+	}
+
+	List<MonitoredItem> actionsBetween(LocalDate from, LocalDate to, int limit) {
+		return copyOf(actions.subMap(from, true, to, true), limit);
+	}
+
+	List<MonitoredItem> noticesBetween(LocalDate from, LocalDate to, int limit) {
+		return copyOf(notices.subMap(from, true, to, true), limit);
+	}
+
+	List<MonitoredItem> actionEntriesBetween(LocalDate from, LocalDate to) {
+		return entriesOf(actions.subMap(from, true, to, true));
+	}
+
+	List<MonitoredItem> noticeEntriesBetween(LocalDate from, LocalDate to) {
+		return entriesOf(notices.subMap(from, true, to, true));
+	}
+
+	Collection<MonitoredItem> entriesFor(Property property) {
+		Map<String, MonitoredItem> itemsForOwner = entries.get(property);
+		if (itemsForOwner == null) {
+			return List.of();
+		}
+		return itemsForOwner.values();
+	}
+
+	List<MonitoredItem> firstActions(int limit) {
+		return copyOf(actions, limit);
+	}
+
+	List<MonitoredItem> firstActionsFor(Property property, int limit) {
+		Collection<MonitoredItem> itemsForOwner = entriesFor(property);
+		PriorityQueue<MonitoredItem> heap = new PriorityQueue<>(Math.max(1, Math.min(limit, itemsForOwner.size())),
+				DUE_ORDER.reversed());
+		for (MonitoredItem entry : itemsForOwner) {
+			if (heap.size() < limit) {
+				heap.add(entry);
+			} else if (DUE_ORDER.compare(entry, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(entry);
+			}
+		}
+		List<MonitoredItem> entryList = new ArrayList<>(heap);
+		entryList.sort(DUE_ORDER);
+		List<MonitoredItem> copyList = new ArrayList<>(entryList.size());
+		entryList.stream().forEach(entry -> copyList.add(new MonitoredItem(entry)));
+		return copyList;
+	}
+
+	List<MonitoredItem> allEntries() {
+		List<MonitoredItem> entryList = new ArrayList<>();
+		entries.values().stream().forEach(itemsForOwner -> entryList.addAll(itemsForOwner.values()));
+		return entryList;
+	}
+
+	int countActionsBetween(LocalDate from, LocalDate to) {
+		return countOf(actions.subMap(from, true, to, true));
+	}
+
+	int countNoticesBetween(LocalDate from, LocalDate to) {
+		return countOf(notices.subMap(from, true, to, true));
+	}
+
+	Set<Property> ownersWithOverdueItems(LocalDate today) {
+		advanceTo(today);
+		return overdueItems.navigableKeySet();
+	}
+
+	Set<Property> ownersWithOverdueNotices(LocalDate today) {
+		advanceTo(today);
+		return overdueNotices.navigableKeySet();
+	}
+
+	private void advanceTo(LocalDate today) {
+		if (today.equals(asOf)) {
+			return;
+		}
+		if (asOf == null || today.isBefore(asOf)) {
+			rebuild(today);
+			return;
+		}
+		LocalDate previous = asOf;
+		asOf = today;
+		actions.subMap(previous, true, today, false).values().stream().forEach(itemsOnDate -> {
+			itemsOnDate.stream().forEach(entry -> {
+				increment(overdueItems, entry);
+				if (entry.noticeDue(previous)) {
+					decrement(overdueNotices, entry);
+				}
+			});
+		});
+		notices.subMap(previous, true, today, false).values().stream().forEach(itemsOnDate -> {
+			itemsOnDate.stream().forEach(entry -> {
+				if (!entry.overdue(today)) {
+					increment(overdueNotices, entry);
+				}
+			});
+		});
+	}
+
+	private void rebuild(LocalDate today) {
+		asOf = today;
+		overdueItems.clear();
+		overdueNotices.clear();
+		entries.values().stream().forEach(itemsForOwner -> {
+			itemsForOwner.values().stream().forEach(entry -> count(entry));
+		});
+	}
+
+	private void count(MonitoredItem entry) {
+		if (entry.overdue(asOf)) {
+			increment(overdueItems, entry);
+		} else if (entry.noticeDue(asOf)) {
+			increment(overdueNotices, entry);
+		}
+	}
+
+	private void uncount(MonitoredItem entry) {
+		if (entry.overdue(asOf)) {
+			decrement(overdueItems, entry);
+		} else if (entry.noticeDue(asOf)) {
+			decrement(overdueNotices, entry);
+		}
+	}
+
+	private void increment(Map<Property, Integer> counts, MonitoredItem entry) {
+		counts.merge(entry.ownerProperty().get(), 1, Integer::sum);
+	}
+
+	private void decrement(Map<Property, Integer> counts, MonitoredItem entry) {
+		counts.computeIfPresent(entry.ownerProperty().get(), (owner, count) -> count > 1 ? count - 1 : null);
+	}
+
+	private void link(MonitoredItem entry) {
+		actions.computeIfAbsent(entry.timeForNextAction(), date -> new TreeSet<>(SCHEDULE_ORDER)).add(entry);
+		notices.computeIfAbsent(entry.timeForNextNotice(), date -> new TreeSet<>(SCHEDULE_ORDER)).add(entry);
+		if (asOf != null) {
+			count(entry);
+		}
+	}
+
+	private void unlink(MonitoredItem entry) {
+		unlink(actions, entry.timeForNextAction(), entry);
+		unlink(notices, entry.timeForNextNotice(), entry);
+		if (asOf != null) {
+			uncount(entry);
+		}
+	}
+
+	private void unlink(NavigableMap<LocalDate, Set<MonitoredItem>> index, LocalDate date, MonitoredItem entry) {
+		Set<MonitoredItem> itemsOnDate = index.get(date);
+		if (itemsOnDate != null) {
+			itemsOnDate.remove(entry);
+			if (itemsOnDate.isEmpty()) {
+				index.remove(date);
+			}
+		}
+	}
+
+	private int countOf(NavigableMap<LocalDate, Set<MonitoredItem>> range) {
+		return range.values().stream().mapToInt(Set::size).sum();
+	}
+
+	private List<MonitoredItem> entriesOf(NavigableMap<LocalDate, Set<MonitoredItem>> range) {
+		List<MonitoredItem> entryList = new ArrayList<>();
+		range.values().stream().forEach(itemsOnDate -> entryList.addAll(itemsOnDate));
+		return entryList;
+	}
+
+	private List<MonitoredItem> copyOf(NavigableMap<LocalDate, Set<MonitoredItem>> range, int limit) {
+		List<MonitoredItem> copyList = new ArrayList<>();
+		for (Set<MonitoredItem> itemsOnDate : range.values()) {
+			for (MonitoredItem entry : itemsOnDate) {
+				if (copyList.size() >= limit) {
+					return copyList;
+				}
+				copyList.add(new MonitoredItem(entry));
+			}
+		}
+		return copyList;
+	}
+
+	private List<MonitoredItem> copyOf(Set<MonitoredItem> itemsOnDate) {
+		List<MonitoredItem> copyList = new ArrayList<>();
+		if (itemsOnDate != null) {
+			itemsOnDate.stream().forEach(entry -> copyList.add(new MonitoredItem(entry)));
+		}
+		return copyList;
+	}
+}
@@ -0,0 +1,22 @@
+package com.brailsoft.model;
+
+import com.brailsoft.base.NotificationType;
+
+public enum ScheduleNotificationType implements NotificationType {
+	NoticeDue("noticedue"), Overdue("overdue");
+
+	private String type;
+
+	ScheduleNotificationType(String type) {
+		this.type = type;
+	}
+
+	public String type() {
+		return type;
+	}
+
+	@Override
+	public String category() {
+		return ModelConstants.SCHEDULE_CATEGORY;
+	}
+}
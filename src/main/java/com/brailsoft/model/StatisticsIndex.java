@@ -0,0 +1,199 @@
+package com.brailsoft.model;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+class StatisticsIndex {
+	private record ItemEntry(Period period, LocalDate due, String town) {
+	}
+
+	private final Map<Property, Map<String, ItemEntry>> items = new HashMap<>();
+	private final Map<Property, Map<String, String>> inventory = new HashMap<>();
+
+	private final Map<Period, Integer> itemsPerPeriod = new EnumMap<>(Period.class);
+	private final Map<String, Integer> inventoryPerManufacturer = new HashMap<>();
+	private final Map<Property, NavigableMap<LocalDate, Integer>> dueDates = new HashMap<>();
+	private final NavigableMap<LocalDate, Map<String, Integer>> dueByTown = new TreeMap<>();
+
+	private LocalDate asOf = null;
+	private final Map<String, Integer> overduePerTown = new HashMap<>();
+
+	void add(MonitoredItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("StatisticsIndex: item was null");
+		}
+		Property owner = item.ownerProperty().get();
+		ItemEntry entry = new ItemEntry(item.periodForNextAction(), item.timeForNextAction(), townOf(owner));
+		ItemEntry previous = items.computeIfAbsent(owner, key -> new HashMap<>()).put(item.description(), entry);
+		if (previous != null) {
+			unlink(owner, previous);
+		}
+		link(owner, entry);
+	}
+
+	void replace(MonitoredItem item) {
+		add(item);
+	}
+
+	void remove(MonitoredItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("StatisticsIndex: item was null");
+		}
+		Property owner = item.ownerProperty().get();
+		Map<String, ItemEntry> itemsForOwner = items.get(owner);
+		if (itemsForOwner == null) {
+			return;
+		}
+		ItemEntry previous = itemsForOwner.remove(item.description());
+		if (previous != null) {
+			unlink(owner, previous);
+		}
+		if (itemsForOwner.isEmpty()) {
+			items.remove(owner);
+		}
+	}
+
+	void add(InventoryItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("StatisticsIndex: item was null");
+		}
+		String manufacturer = item.manufacturer().trim();
+		String previous = inventory.computeIfAbsent(item.owner(), key -> new HashMap<>()).put(item.description(),
+				manufacturer);
+		if (previous != null) {
+			decrement(inventoryPerManufacturer, previous);
+		}
+		increment(inventoryPerManufacturer, manufacturer);
+	}
+
+	void remove(InventoryItem item) {
+		if (item == null) {
+			throw new IllegalArgumentException("StatisticsIndex: item was null");
+		}
+		Property owner = item.owner();
+		Map<String, String> inventoryForOwner = inventory.get(owner);
+		if (inventoryForOwner == null) {
+			return;
+		}
+		String previous = inventoryForOwner.remove(item.description());
+		if (previous != null) {
+			decrement(inventoryPerManufacturer, previous);
+		}
+		if (inventoryForOwner.isEmpty()) {
+			inventory.remove(owner);
+		}
+	}
+
+	void remove(Property property) {
+		if (property == null) {
+			throw new IllegalArgumentException("StatisticsIndex: property was null");
+		}
+		Map<String, ItemEntry> itemsForOwner = items.remove(property);
+		if (itemsForOwner != null) {
+			itemsForOwner.values().stream().forEach(entry -> unlink(property, entry));
+		}
+		Map<String, String> inventoryForOwner = inventory.remove(property);
+		if (inventoryForOwner != null) {
+			inventoryForOwner.values().stream()
+					.forEach(manufacturer -> decrement(inventoryPerManufacturer, manufacturer));
+		}
+	}
+
+	void clear() {
+		items.clear();
+		inventory.clear();
+		itemsPerPeriod.clear();
+		inventoryPerManufacturer.clear();
+		dueDates.clear();
+		dueByTown.clear();
+		asOf = null;
+		overduePerTown.clear();
+	}
+
+	LocalDate nextDueFor(Property property) {
+		NavigableMap<LocalDate, Integer> datesForOwner = dueDates.get(property);
+		if (datesForOwner == null) {
+			return null;
+		}
+		return datesForOwner.firstKey();
+	}
+
+	PortfolioStatistics snapshot(LocalDate today) {
+		advanceTo(today);
+		Map<Address, LocalDate> nextDue = new TreeMap<>();
+		dueDates.entrySet().stream().forEach(
+				entry -> nextDue.put(new Address(entry.getKey().address()), entry.getValue().firstKey()));
+		return new PortfolioStatistics(today, itemsPerPeriod, overduePerTown, inventoryPerManufacturer, nextDue);
+	}
+
+	private void advanceTo(LocalDate today) {
+		if (today.equals(asOf)) {
+			return;
+		}
+		if (asOf == null || today.isBefore(asOf)) {
+			overduePerTown.clear();
+			asOf = today;
+			dueByTown.headMap(today, false).values().stream().forEach(countsForDate -> addAll(countsForDate));
+			return;
+		}
+		LocalDate previous = asOf;
+		asOf = today;
+		dueByTown.subMap(previous, true, today, false).values().stream()
+				.forEach(countsForDate -> addAll(countsForDate));
+	}
+
+	private void addAll(Map<String, Integer> countsForDate) {
+		countsForDate.entrySet().stream()
+				.forEach(entry -> overduePerTown.merge(entry.getKey(), entry.getValue(), Integer::sum));
+	}
+
+	private void link(Property owner, ItemEntry entry) {
+		increment(itemsPerPeriod, entry.period());
+		increment(dueDates.computeIfAbsent(owner, key -> new TreeMap<>()), entry.due());
+		increment(dueByTown.computeIfAbsent(entry.due(), date -> new HashMap<>()), entry.town());
+		if (asOf != null && entry.due().isBefore(asOf)) {
+			increment(overduePerTown, entry.town());
+		}
+	}
+
+	private void unlink(Property owner, ItemEntry entry) {
+		decrement(itemsPerPeriod, entry.period());
+		NavigableMap<LocalDate, Integer> datesForOwner = dueDates.get(owner);
+		if (datesForOwner != null) {
+			decrement(datesForOwner, entry.due());
+			if (datesForOwner.isEmpty()) {
+				dueDates.remove(owner);
+			}
+		}
+		Map<String, Integer> countsForDate = dueByTown.get(entry.due());
+		if (countsForDate != null) {
+			decrement(countsForDate, entry.town());
+			if (countsForDate.isEmpty()) {
+				dueByTown.remove(entry.due());
+			}
+		}
+		if (asOf != null && entry.due().isBefore(asOf)) {
+			decrement(overduePerTown, entry.town());
+		}
+	}
+
+	private String townOf(Property owner) {
+		String[] linesOfAddress = owner.address().linesOfAddress();
+		if (linesOfAddress.length < 2 || linesOfAddress[1] == null) {
+			return "";
+		}
+		return linesOfAddress[1].trim();
+	}
+
+	private <K> void increment(Map<K, Integer> counts, K key) {
+		counts.merge(key, 1, Integer::sum);
+	}
+
+	private <K> void decrement(Map<K, Integer> counts, K key) {
+		counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+	}
+}
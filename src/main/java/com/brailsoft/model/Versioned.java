@@ -0,0 +1,9 @@
+package com.brailsoft.model;
+
+public record Versioned<T>(long version, T value) {
+	public Versioned {
+		if (value == null) {
+			throw new IllegalArgumentException("Versioned: value was null");
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package com.brailsoft.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.brailsoft.base.ApplicationConfiguration;
+import com.brailsoft.base.ApplicationDecsriptor;
+import com.brailsoft.base.LogConfigurer;
+import com.brailsoft.base.Notification;
+import com.brailsoft.base.NotificationCentre;
+import com.brailsoft.base.NotificationListener;
+import com.brailsoft.storage.StorageNotificationType;
+import com.brailsoft.storage.StoreState;
+
+class DueDateSchedulerTest {
+
+	private static final PostCode postCode1 = new PostCode("CW3 9ST");
+	private static final String LINE1 = "99 The Street";
+	private static final String LINE2 = "The Town";
+	private static final String LINE3 = "The County";
+	private static final String[] linesOfAddress = new String[] { LINE1, LINE2, LINE3 };
+	private static final Address address1 = new Address(postCode1, linesOfAddress);
+
+	private static class TestClock extends Clock {
+		private final ZoneId zone = ZoneId.systemDefault();
+		private Instant instant;
+
+		TestClock(LocalDate date) {
+			setDate(date);
+		}
+
+		void setDate(LocalDate date) {
+			instant = date.atStartOfDay(zone).toInstant();
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return zone;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+
+	private LocalDate startTest;
+	private Object waitForIO = new Object();
+	private List<ScheduleNotificationType> received = Collections.synchronizedList(new ArrayList<>());
+	private CountDownLatch scheduleReceived;
+
+	private Property property1;
+	private MonitoredItem testItem;
+	private TestClock clock;
+	private DueDateScheduler scheduler;
+
+	NotificationListener listener = new NotificationListener() {
+		@Override
+		public void notify(Notification notification) {
+			if (notification.notificationType() instanceof StorageNotificationType) {
+				assertTrue(notification.subject().isPresent());
+				handleStorage(notification);
+			} else if (notification.notificationType() instanceof ScheduleNotificationType) {
+				assertTrue(notification.subject().isPresent());
+				handleSchedule(notification);
+			}
+		}
+	};
+
+	@TempDir
+	File rootDirectory;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterAll
+	static void tearDownAfterClass() throws Exception {
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		startTest = LocalDate.now();
+		received.clear();
+		scheduleReceived = new CountDownLatch(1);
+		property1 = new Property(address1);
+		testItem = new MonitoredItem("item1", Period.YEARLY, 1, startTest, 1, Period.WEEKLY);
+		testItem.setOwner(property1);
+		clock = new TestClock(startTest);
+		scheduler = new DueDateScheduler(clock);
+		ApplicationDecsriptor app = new ApplicationDecsriptor("test") {
+			@Override
+			public Level level() {
+				return Level.OFF;
+			}
+		};
+		ApplicationConfiguration.registerApplication(app, rootDirectory.getAbsolutePath());
+		LogConfigurer.setUp();
+		NotificationCentre.addListener(listener);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		scheduler.stop();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().clear();
+			waitForIO.wait();
+		}
+		NotificationCentre.removeListener(listener);
+		LogConfigurer.shutdown();
+		ApplicationConfiguration.clear();
+	}
+
+	@Test
+	void testNullClock() {
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			new DueDateScheduler(null);
+		});
+		assertEquals("DueDateScheduler: clock was null", exc.getMessage());
+	}
+
+	@Test
+	void testNextTransition() {
+		assertNull(scheduler.nextTransition());
+		scheduler.schedule(testItem);
+		assertEquals(testItem.timeForNextNotice().plusDays(1), scheduler.nextTransition());
+	}
+
+	@Test
+	void testNoticeDue() throws InterruptedException {
+		scheduler.schedule(testItem);
+		clock.setDate(testItem.timeForNextNotice());
+		assertEquals(0, scheduler.processDueTransitions());
+		clock.setDate(testItem.timeForNextNotice().plusDays(1));
+		assertEquals(1, scheduler.processDueTransitions());
+		assertTrue(scheduleReceived.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(ScheduleNotificationType.NoticeDue), received);
+		assertEquals(0, scheduler.processDueTransitions());
+		assertEquals(testItem.timeForNextAction().plusDays(1), scheduler.nextTransition());
+	}
+
+	@Test
+	void testOverdueSupersedesNotice() throws InterruptedException {
+		scheduler.schedule(testItem);
+		clock.setDate(testItem.timeForNextAction().plusDays(1));
+		assertEquals(1, scheduler.processDueTransitions());
+		assertTrue(scheduleReceived.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(ScheduleNotificationType.Overdue), received);
+		assertNull(scheduler.nextTransition());
+	}
+
+	@Test
+	void testCancel() {
+		scheduler.schedule(testItem);
+		scheduler.cancel(testItem);
+		clock.setDate(testItem.timeForNextAction().plusDays(1));
+		assertEquals(0, scheduler.processDueTransitions());
+		assertNull(scheduler.nextTransition());
+	}
+
+	@Test
+	void testRescheduleAfterActionPerformed() {
+		scheduler.schedule(testItem);
+		testItem.actionPerformed(startTest.plusMonths(1));
+		scheduler.schedule(testItem);
+		assertEquals(testItem.timeForNextNotice().plusDays(1), scheduler.nextTransition());
+		clock.setDate(startTest.plusYears(1).minusWeeks(1).plusDays(1));
+		assertEquals(0, scheduler.processDueTransitions());
+	}
+
+	@Test
+	void testRescheduleReplacesTransitions() {
+		for (int day = 0; day < 100; day++) {
+			testItem.actionPerformed(startTest.plusDays(day));
+			scheduler.schedule(testItem);
+		}
+		assertEquals(2, scheduler.pendingTransitions());
+		assertEquals(testItem.timeForNextNotice().plusDays(1), scheduler.nextTransition());
+		scheduler.cancel(testItem);
+		assertEquals(0, scheduler.pendingTransitions());
+	}
+
+	@Test
+	void testStartSchedulesExistingItems() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem);
+			waitForIO.wait();
+		}
+		scheduler.start();
+		assertEquals(testItem.timeForNextNotice().plusDays(1), scheduler.nextTransition());
+		Exception exc = assertThrows(IllegalStateException.class, () -> {
+			scheduler.start();
+		});
+		assertEquals("DueDateScheduler: already started", exc.getMessage());
+	}
+
+	@Test
+	void testClearCancelsTransitions() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem);
+			waitForIO.wait();
+		}
+		scheduler.start();
+		assertEquals(2, scheduler.pendingTransitions());
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().clear();
+			waitForIO.wait();
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (scheduler.pendingTransitions() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, scheduler.pendingTransitions());
+		assertNull(scheduler.nextTransition());
+	}
+
+	private void handleSchedule(Notification notification) {
+		received.add((ScheduleNotificationType) notification.notificationType());
+		scheduleReceived.countDown();
+	}
+
+	private void handleStorage(Notification notification) {
+		StorageNotificationType type = (StorageNotificationType) notification.notificationType();
+		switch (type) {
+			case Store -> {
+				StoreState state = (StoreState) notification.subject().get();
+				switch (state) {
+					case Complete -> storeData();
+					case Failed -> storeData();
+					case Started -> ignore();
+				}
+			}
+			case Load -> ignore();
+		}
+	}
+
+	private void ignore() {
+	}
+
+	private void storeData() {
+		synchronized (waitForIO) {
+			waitForIO.notifyAll();
+		}
+	}
+
+}
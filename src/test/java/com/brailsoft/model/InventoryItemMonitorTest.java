@@ -138,6 +138,66 @@ class InventoryItemMonitorTest {
 		}
 	}
 
+	@Test
+	void testReplaceItemWithVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testInventory);
+			waitForIO.wait();
+		}
+		long version = PropertyMonitor.instance().inventoryItemsFor(property1).get(0).version();
+		InventoryItem changed = new InventoryItem("inventory1", "manufacturer1", "model2", "serialnumber2",
+				"supplier1", LocalDate.now());
+		changed.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().replaceItem(changed, version);
+			waitForIO.wait();
+		}
+		InventoryItem stored = PropertyMonitor.instance().inventoryItemsFor(property1).get(0);
+		assertEquals("model2", stored.model());
+		assertTrue(stored.version() > version);
+		assertEquals(0, changed.version());
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalStateException.class, () -> {
+				PropertyMonitor.instance().replaceItem(testInventory, version);
+			});
+			assertEquals("PropertyMonitor: item " + testInventory + " is at version " + stored.version()
+					+ ", expected " + version, exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+		assertEquals("model2", PropertyMonitor.instance().inventoryItemsFor(property1).get(0).model());
+	}
+
+	@Test
+	void testReplaceNullItemWithVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceItem((InventoryItem) null, 0);
+			});
+			assertEquals("PropertyMonitor: inventoryItem was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testReplaceNullOwnerWithVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			testInventory2 = new InventoryItem("inventory1", "manufacturer1", "model1", "serialnumber1", "supplier1",
+					LocalDate.now());
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceItem(testInventory2, 0);
+			});
+			assertEquals("PropertyMonitor: property was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
 	@Test
 	void testAddUnknownOwner() throws InterruptedException {
 		synchronized (waitForIO) {
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.logging.Level;
 
 import org.junit.jupiter.api.AfterAll;
@@ -104,6 +105,36 @@ class MonitoredItemMonitorTest {
 		assertNotNull(PropertyMonitor.instance());
 	}
 
+	@Test
+	void testPropertyDueSummary() {
+		Property property = new Property(address1);
+		assertFalse(property.areItemsOverdue(startTest));
+		assertFalse(property.areNoticesOverdue(startTest));
+		MonitoredItem item = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		item.setOwner(property);
+		property.addItem(testItem);
+		property.addItem(item);
+		assertEquals(2, property.itemCount());
+		assertEquals(startTest.plusMonths(1), property.nextActionDue());
+		assertEquals(startTest.plusMonths(1).minusWeeks(1), property.nextNoticeDue());
+		assertFalse(property.areNoticesOverdue(startTest.plusMonths(1).minusWeeks(1)));
+		assertTrue(property.areNoticesOverdue(startTest.plusMonths(1)));
+		assertFalse(property.areItemsOverdue(startTest.plusMonths(1)));
+		assertTrue(property.areItemsOverdue(startTest.plusMonths(1).plusDays(1)));
+		assertFalse(property.areNoticesOverdue(startTest.plusMonths(1).plusDays(1)));
+		assertTrue(property.areNoticesOverdue(startTest.plusYears(1)));
+		item.actionPerformed(startTest.plusYears(1));
+		property.replaceItem(item);
+		assertEquals(startTest.plusYears(1), property.nextActionDue());
+		assertEquals(2, new Property(property).itemCount());
+		assertEquals(startTest.plusYears(1), new Property(property).nextActionDue());
+		property.removeItem(testItem);
+		assertEquals(startTest.plusYears(1).plusMonths(1), property.nextActionDue());
+		property.clear();
+		assertEquals(0, property.itemCount());
+		assertEquals(null, property.nextNoticeDue());
+	}
+
 	@Test
 	void testAddItem() throws InterruptedException {
 		synchronized (waitForIO) {
@@ -141,6 +172,158 @@ class MonitoredItemMonitorTest {
 		}
 	}
 
+	@Test
+	void testVersions() throws InterruptedException {
+		PropertyMonitor monitor = PropertyMonitor.instance();
+		synchronized (waitForIO) {
+			monitor.addProperty(property1);
+			waitForIO.wait();
+		}
+		long added = monitor.modelVersion();
+		assertTrue(monitor.propertiesIfChangedSince(added).isEmpty());
+		assertEquals(added, monitor.propertiesIfChangedSince(added - 1).get().version());
+		assertTrue(monitor.monitoredItemsIfChangedSince(property1, added).isEmpty());
+		synchronized (waitForIO) {
+			monitor.addItem(testItem);
+			waitForIO.wait();
+		}
+		Versioned<List<MonitoredItem>> items = monitor.monitoredItemsIfChangedSince(property1, added).get();
+		assertTrue(items.version() > added);
+		assertEquals(items.version(), items.value().get(0).version());
+		assertEquals(0, testItem.version());
+		assertEquals(items.version(), PropertySelect.itemsDueAfter(LocalDate.MIN, LocalDate.MAX, null, 1).items().get(0)
+				.version());
+		assertEquals(items.version(), monitor.properties().get(0).version());
+		assertTrue(monitor.monitoredItemsIfChangedSince(property1, items.version()).isEmpty());
+		assertTrue(monitor.inventoryItemsIfChangedSince(property1, items.version()).isEmpty());
+		synchronized (waitForIO) {
+			monitor.replaceItem(testItem);
+			waitForIO.wait();
+		}
+		Versioned<List<MonitoredItem>> replaced = monitor.monitoredItemsIfChangedSince(property1, items.version())
+				.get();
+		assertTrue(replaced.version() > items.version());
+		assertEquals(replaced.version(), replaced.value().get(0).version());
+		assertEquals(replaced.version(), monitor.propertiesIfChangedSince(items.version()).get().version());
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			monitor.monitoredItemsIfChangedSince(null, 0);
+		});
+		assertEquals("PropertyMonitor: property was null", exc.getMessage());
+	}
+
+	@Test
+	void testReplaceItemWithStaleVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem);
+			waitForIO.wait();
+		}
+		MonitoredItem first = PropertyMonitor.instance().monitoredItemsFor(property1).get(0);
+		MonitoredItem second = PropertyMonitor.instance().monitoredItemsFor(property1).get(0);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().replaceItem(first, first.version());
+			waitForIO.wait();
+		}
+		long current = PropertyMonitor.instance().monitoredItemsFor(property1).get(0).version();
+		assertTrue(current > first.version());
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalStateException.class, () -> {
+				PropertyMonitor.instance().replaceItem(second, second.version());
+			});
+			assertEquals("PropertyMonitor: item " + second + " is at version " + current + ", expected "
+					+ second.version(), exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testReplaceNullItemWithVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceItem((MonitoredItem) null, 0);
+			});
+			assertEquals("PropertyMonitor: monitoredItem was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testReplaceNullOwnerWithVersion() throws InterruptedException {
+		synchronized (waitForIO) {
+			testItem2 = new MonitoredItem("item1", Period.YEARLY, 1, startTest, 1, Period.WEEKLY);
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceItem(testItem2, 0);
+			});
+			assertEquals("PropertyMonitor: property was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testBulkActionPerformed() throws InterruptedException {
+		PropertyMonitor monitor = PropertyMonitor.instance();
+		testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			monitor.addProperty(property1);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			monitor.addItem(testItem);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			monitor.addItem(testItem2);
+			waitForIO.wait();
+		}
+		LocalDate visit = startTest.plusDays(10);
+		long appended = monitor.outbox().appended();
+		synchronized (waitForIO) {
+			monitor.actionPerformed(visit, testItem, testItem2);
+			waitForIO.wait();
+		}
+		assertEquals(appended + 1, monitor.outbox().appended());
+		assertTrue(changedItem);
+		List<MonitoredItem> items = monitor.monitoredItemsFor(property1);
+		items.sort((first, second) -> first.description().compareTo(second.description()));
+		assertEquals(visit, items.get(0).getLastActionPerformed());
+		assertEquals(visit.plusYears(1), items.get(0).timeForNextAction());
+		assertEquals(visit, items.get(1).getLastActionPerformed());
+		assertEquals(visit.plusMonths(1), items.get(1).timeForNextAction());
+		assertEquals(visit.plusMonths(1).minusWeeks(1), items.get(1).timeForNextNotice());
+		assertEquals(monitor.modelVersion(), items.get(0).version());
+		assertEquals(monitor.modelVersion(), items.get(1).version());
+		assertEquals(visit.plusMonths(1), monitor.nextDueFor(property1));
+		assertEquals(List.of(items.get(1)), monitor.itemsDueBetween(visit.plusMonths(1), visit.plusMonths(1), 10));
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				monitor.actionPerformed(visit);
+			});
+			assertEquals("PropertyMonitor: monitoredItems was empty", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testBulkActionPerformedNullOwner() throws InterruptedException {
+		synchronized (waitForIO) {
+			testItem2 = new MonitoredItem("item1", Period.YEARLY, 1, startTest, 1, Period.WEEKLY);
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().actionPerformed(startTest, testItem2);
+			});
+			assertEquals("PropertyMonitor: property was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
 	@Test
 	void testRemoveItem() throws InterruptedException {
 		synchronized (waitForIO) {
@@ -0,0 +1,56 @@
+package com.brailsoft.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ParallelScanBenchmark {
+
+	private static final int[] sizes = new int[] { 100, 500, 1000, 5000, 10000 };
+	private static final int[] thresholds = new int[] { 128, 256, ParallelScan.DEFAULT_THRESHOLD, 2048 };
+	private static final int WARMUP = 10;
+	private static final int RUNS = 11;
+
+	private long medianNanos(List<Property> properties, int threshold, int expected) {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		for (int run = 0; run < WARMUP; run++) {
+			ParallelScan.scan(pool, properties, threshold, property -> property.monitoredItems());
+		}
+		long[] timings = new long[RUNS];
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			List<MonitoredItem> items = ParallelScan.scan(pool, properties, threshold,
+					property -> property.monitoredItems());
+			timings[run] = System.nanoTime() - start;
+			assertEquals(expected, items.size());
+		}
+		Arrays.sort(timings);
+		return timings[RUNS / 2];
+	}
+
+	@Test
+	void benchmarkItemScan() {
+		System.out.printf("ParallelScan: common pool parallelism %d%n", ForkJoinPool.getCommonPoolParallelism());
+		StringBuilder header = new StringBuilder(String.format("%8s %12s", "size", "sequential"));
+		for (int threshold : thresholds) {
+			header.append(String.format(" %12s", "t=" + threshold));
+		}
+		System.out.println(header);
+		for (int size : sizes) {
+			List<Property> properties = ParallelScanTest.portfolio(size);
+			long sequential = medianNanos(properties, Integer.MAX_VALUE, size * 3);
+			StringBuilder row = new StringBuilder(String.format("%8d %10dus", size, sequential / 1000));
+			for (int threshold : thresholds) {
+				long parallel = medianNanos(properties, threshold, size * 3);
+				row.append(String.format(" %8dus %1.1fx", parallel / 1000, (double) sequential / parallel));
+			}
+			System.out.println(row);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.brailsoft.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParallelScanTest {
+
+	private static final String[] linesOfAddress = new String[] { "99 The Street", "The Town", "The County" };
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	static List<Property> portfolio(int size) {
+		LocalDate startTest = LocalDate.now();
+		List<Property> properties = new ArrayList<>();
+		for (int index = 0; index < size; index++) {
+			PostCode postCode = new PostCode("CW" + (index % 10) + " " + (index % 10) + "ST");
+			String[] lines = new String[] { index + " The Street", linesOfAddress[1], linesOfAddress[2] };
+			Property property = new Property(new Address(postCode, lines));
+			for (int item = 0; item < 3; item++) {
+				MonitoredItem monitoredItem = new MonitoredItem("item" + item, Period.MONTHLY, 1 + item,
+						startTest.minusDays(index % 31), 1, Period.WEEKLY);
+				monitoredItem.setOwner(property);
+				property.addItem(monitoredItem);
+			}
+			properties.add(property);
+		}
+		Collections.shuffle(properties);
+		return properties;
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 100, 1000, 5000 })
+	void testPropertiesMatchSequential(int size) {
+		List<Property> properties = portfolio(size);
+		List<Property> sequential = ParallelScan.scan(properties, Integer.MAX_VALUE,
+				property -> List.of(new Property(property)));
+		List<Property> parallel = ParallelScan.scan(pool, properties, 16, property -> List.of(new Property(property)));
+		assertEquals(size, parallel.size());
+		assertEquals(sequential, parallel);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 100, 1000, 5000 })
+	void testItemsMatchSequential(int size) {
+		List<Property> properties = portfolio(size);
+		List<MonitoredItem> sequential = ParallelScan.scan(properties, Integer.MAX_VALUE,
+				property -> property.monitoredItems());
+		List<MonitoredItem> parallel = ParallelScan.scan(pool, properties, 16, property -> property.monitoredItems());
+		assertEquals(size * 3, parallel.size());
+		for (int index = 0; index < sequential.size(); index++) {
+			assertEquals(sequential.get(index), parallel.get(index));
+			assertEquals(sequential.get(index).owner(), parallel.get(index).owner());
+		}
+	}
+
+	@Test
+	void testInvalidThreshold() {
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			ParallelScan.scan(new ArrayList<>(), 0, property -> List.of(property));
+		});
+		assertEquals("ParallelScan: threshold less than 1", exc.getMessage());
+	}
+
+	@Test
+	void testSingleWorkerPoolScansSequentially() {
+		List<Property> properties = portfolio(1000);
+		ForkJoinPool singleWorker = new ForkJoinPool(1);
+		try {
+			List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+			List<Property> result = ParallelScan.scan(singleWorker, properties, 16, property -> {
+				threads.add(Thread.currentThread());
+				return List.of(property);
+			});
+			assertEquals(1000, result.size());
+			threads.forEach(thread -> assertEquals(Thread.currentThread(), thread));
+		} finally {
+			singleWorker.shutdown();
+		}
+	}
+
+	@Test
+	void testNullPool() {
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			ParallelScan.scan(null, new ArrayList<>(), 1, property -> List.of(property));
+		});
+		assertEquals("ParallelScan: pool was null", exc.getMessage());
+	}
+
+}
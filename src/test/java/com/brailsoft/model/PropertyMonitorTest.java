@@ -3,10 +3,19 @@ package com.brailsoft.model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.junit.jupiter.api.AfterAll;
@@ -34,10 +43,15 @@ class PropertyMonitorTest {
 	private static final String[] linesOfAddress = new String[] { LINE1, LINE2, LINE3 };
 	private static final Address address1 = new Address(postCode1, linesOfAddress);
 	private static final Property property1 = new Property(address1);
+	private static final PostCode postCode2 = new PostCode("CW3 9SU");
+	private static final Address address2 = new Address(postCode2,
+			new String[] { "1 The Avenue", "The Village", "The County" });
+	private static final Property property2 = new Property(address2);
 
 	private Object waitForIO = new Object();
 	private boolean addedProperty = false;
 	private boolean removedProperty = false;
+	private boolean changedProperty = false;
 	private boolean failedIO = false;
 
 	NotificationListener listener = new NotificationListener() {
@@ -110,6 +124,199 @@ class PropertyMonitorTest {
 		}
 	}
 
+	@Test
+	void testParallelThreshold() {
+		int threshold = PropertyMonitor.instance().parallelThreshold();
+		try {
+			PropertyMonitor.instance().setParallelThreshold(1);
+			assertEquals(1, PropertyMonitor.instance().parallelThreshold());
+			assertEquals(0, PropertyMonitor.instance().properties().size());
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().setParallelThreshold(0);
+			});
+			assertEquals("PropertyMonitor: parallelThreshold less than 1", exc.getMessage());
+		} finally {
+			PropertyMonitor.instance().setParallelThreshold(threshold);
+		}
+	}
+
+	private static class ChangeCollector implements Flow.Subscriber<ModelChange> {
+		private final BlockingQueue<ModelChange> changes = new LinkedBlockingQueue<>();
+		private Flow.Subscription subscription;
+		private Throwable error = null;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(ModelChange change) {
+			changes.add(change);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+		}
+
+		ModelChange next() throws InterruptedException {
+			return changes.poll(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	void testChangeFeed() throws InterruptedException {
+		Property property = new Property(address1);
+		ChangeFeed feed = PropertyMonitor.instance().changes();
+		ChangeCollector collector = new ChangeCollector();
+		feed.subscribe(collector);
+		MonitoredItem item = new MonitoredItem("item1", Period.YEARLY, 1, LocalDate.now(), 1, Period.WEEKLY);
+		item.setOwner(property);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(item);
+			waitForIO.wait();
+		}
+		PropertyMonitor.instance().outbox().flush();
+		while (collector.subscription == null) {
+			Thread.sleep(10);
+		}
+		collector.subscription.request(1);
+		ModelChange first = collector.next();
+		assertEquals(PropertyType.Added, first.type());
+		assertEquals(PropertyObject.Property, first.object());
+		assertEquals(property, first.subject());
+		assertNull(collector.changes.poll(100, TimeUnit.MILLISECONDS));
+		collector.subscription.request(Long.MAX_VALUE);
+		ModelChange second = collector.next();
+		assertEquals(first.sequence() + 1, second.sequence());
+		assertEquals(PropertyObject.MonitoredItem, second.object());
+		assertEquals(item, second.subject());
+
+		ChangeCollector resumed = new ChangeCollector();
+		feed.subscribe(resumed, first.sequence());
+		while (resumed.subscription == null) {
+			Thread.sleep(10);
+		}
+		resumed.subscription.request(10);
+		ModelChange resumedSecond = resumed.next();
+		assertEquals(second, resumedSecond);
+		assertNotSame(second.subject(), resumedSecond.subject());
+		resumed.subscription.request(0);
+		while (resumed.error == null) {
+			Thread.sleep(10);
+		}
+		assertEquals("ChangeFeed: request less than 1", resumed.error.getMessage());
+		collector.subscription.cancel();
+	}
+
+	@Test
+	void testOutbox() throws InterruptedException {
+		Outbox outbox = PropertyMonitor.instance().outbox();
+		long appended = outbox.appended();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			assertEquals(1, PropertyMonitor.instance().properties().size());
+			waitForIO.wait();
+		}
+		outbox.flush();
+		assertEquals(appended + 1, outbox.appended());
+		assertEquals(outbox.appended(), outbox.dispatched());
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			outbox.append(null);
+		});
+		assertEquals("Outbox: sideEffects was null", exc.getMessage());
+	}
+
+	@Test
+	void testBroadcastBeforeStorage() throws InterruptedException {
+		List<Object> types = new ArrayList<>();
+		NotificationListener orderListener = new NotificationListener() {
+			@Override
+			public void notify(Notification notification) {
+				synchronized (types) {
+					types.add(notification.notificationType());
+					types.notifyAll();
+				}
+			}
+		};
+		NotificationCentre.addListener(orderListener);
+		try {
+			synchronized (waitForIO) {
+				PropertyMonitor.instance().addProperty(property1);
+				waitForIO.wait();
+			}
+			synchronized (types) {
+				long deadline = System.currentTimeMillis() + 5000;
+				while (!types.contains(StorageNotificationType.Store) && System.currentTimeMillis() < deadline) {
+					types.wait(1000);
+				}
+				assertTrue(types.indexOf(PropertyNotificationType.Add) >= 0);
+				assertTrue(types.indexOf(PropertyNotificationType.Add) < types.indexOf(StorageNotificationType.Store));
+			}
+		} finally {
+			NotificationCentre.removeListener(orderListener);
+		}
+	}
+
+	@Test
+	void testShutdown() throws InterruptedException {
+		Outbox outbox = PropertyMonitor.instance().outbox();
+		AuditWriter auditWriter = PropertyMonitor.instance().auditWriter();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			PropertyMonitor.instance().shutdown();
+			assertEquals(outbox.appended(), outbox.dispatched());
+			assertEquals(0, auditWriter.queued());
+			waitForIO.wait();
+		}
+		long written = auditWriter.written();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeProperty(property1);
+			waitForIO.wait();
+		}
+		PropertyMonitor.instance().flush();
+		assertEquals(outbox.appended(), outbox.dispatched());
+		assertTrue(auditWriter.written() > written);
+	}
+
+	@Test
+	void testAuditWriter() throws InterruptedException {
+		AuditWriter auditWriter = PropertyMonitor.instance().auditWriter();
+		long written = auditWriter.written();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property1);
+			waitForIO.wait();
+		}
+		auditWriter.flush();
+		assertEquals(0, auditWriter.queued());
+		assertTrue(auditWriter.written() > written);
+		try {
+			auditWriter.setDurability(AuditWriter.Durability.SYNCHRONOUS);
+			assertEquals(AuditWriter.Durability.SYNCHRONOUS, auditWriter.durability());
+			written = auditWriter.written();
+			synchronized (waitForIO) {
+				PropertyMonitor.instance().removeProperty(property1);
+				waitForIO.wait();
+			}
+			assertEquals(written, auditWriter.written());
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				auditWriter.setDurability(null);
+			});
+			assertEquals("AuditWriter: durability was null", exc.getMessage());
+		} finally {
+			auditWriter.setDurability(AuditWriter.Durability.QUEUED);
+		}
+	}
+
 	@Test
 	void testAddProperty() throws InterruptedException {
 		assertEquals(0, PropertyMonitor.instance().properties().size());
@@ -184,6 +391,64 @@ class PropertyMonitorTest {
 		assertTrue(failedIO);
 	}
 
+	@Test
+	void testReplaceProperty() throws InterruptedException {
+		Property property = new Property(address1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property);
+			waitForIO.wait();
+		}
+		MonitoredItem item = new MonitoredItem("item1", Period.YEARLY, 1, LocalDate.now(), 1, Period.WEEKLY);
+		item.setOwner(property);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(item);
+			waitForIO.wait();
+		}
+		long appended = PropertyMonitor.instance().outbox().appended();
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().replaceProperty(new PropertyReplacement(property, property2));
+			waitForIO.wait();
+		}
+		PropertyMonitor.instance().flush();
+		assertEquals(appended + 1, PropertyMonitor.instance().outbox().appended());
+		assertFalse(failedIO);
+		assertEquals(1, PropertyMonitor.instance().properties().size());
+		assertEquals(property2, PropertyMonitor.instance().properties().get(0));
+		assertNull(PropertyMonitor.instance().findProperty(property));
+		List<MonitoredItem> items = PropertyMonitor.instance().monitoredItemsFor(property2);
+		assertEquals(1, items.size());
+		assertEquals(property2, items.get(0).owner());
+		assertEquals(property2, PropertyMonitor.instance().soonestDue(1).get(0).owner());
+		assertNotNull(PropertyMonitor.instance().nextDueFor(property2));
+		assertNull(PropertyMonitor.instance().nextDueFor(property));
+		assertEquals(1, PropertyMonitor.instance().propertiesWithPostCodePrefix("CW3 9SU").size());
+		assertEquals(0, PropertyMonitor.instance().propertiesWithPostCodePrefix("CW3 9ST").size());
+	}
+
+	@Test
+	void testReplaceUnknownProperty() throws InterruptedException {
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceProperty(new PropertyReplacement(property1, property2));
+			});
+			assertEquals("PropertyMonitor: property " + property1 + " was not known", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
+	@Test
+	void testReplaceNullProperty() throws InterruptedException {
+		synchronized (waitForIO) {
+			Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+				PropertyMonitor.instance().replaceProperty(null);
+			});
+			assertEquals("PropertyMonitor: replacement was null", exc.getMessage());
+			waitForIO.wait();
+		}
+		assertTrue(failedIO);
+	}
+
 	@Test
 	void testAddDuplicateProperty() throws InterruptedException {
 		synchronized (waitForIO) {
@@ -218,6 +483,7 @@ class PropertyMonitorTest {
 	private void resetFlags() {
 		addedProperty = false;
 		removedProperty = false;
+		changedProperty = false;
 		failedIO = false;
 	}
 
@@ -279,6 +545,7 @@ class PropertyMonitorTest {
 	}
 
 	private void changeProperty() {
+		changedProperty = true;
 	}
 
 }
@@ -1,11 +1,25 @@
 package com.brailsoft.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +27,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 import com.brailsoft.base.ApplicationDecsriptor;
 import com.brailsoft.base.ApplicationConfiguration;
@@ -34,6 +50,7 @@ class PropertySelectTest {
 
 	private LocalDate startTest;
 	private Object waitForIO = new Object();
+	private long storesCompleted = 0;
 
 	private Property property1 = new Property(address1);
 	private MonitoredItem testItem;
@@ -137,6 +154,673 @@ class PropertySelectTest {
 		assertEquals(0, PropertySelect.notifiedItemsFor(startTest.plusYears(1).minusWeeks(1).plusDays(1)).size());
 	}
 
+	@Test
+	void testOverdueItemsAfterActionPerformed() throws InterruptedException {
+		synchronized (waitForIO) {
+			testItem.actionPerformed(startTest.plusMonths(1));
+			PropertyMonitor.instance().replaceItem(testItem);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.overdueItemsFor(startTest.plusYears(1)).size());
+		assertEquals(1, PropertySelect.overdueItemsFor(startTest.plusMonths(1).plusYears(1)).size());
+		assertEquals(0, PropertySelect.notifiedItemsFor(startTest.plusYears(1).minusWeeks(1)).size());
+		assertEquals(1, PropertySelect.notifiedItemsFor(startTest.plusMonths(1).plusYears(1).minusWeeks(1)).size());
+	}
+
+	@Test
+	void testOverdueItemsAfterItemRemoved() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeItem(testItem);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.overdueItemsFor(startTest.plusYears(1)).size());
+		assertEquals(0, PropertySelect.notifiedItemsFor(startTest.plusYears(1).minusWeeks(1)).size());
+	}
+
+	@Test
+	void testOverdueItemsAfterPropertyRemoved() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeProperty(property1);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.overdueItemsFor(startTest.plusYears(1)).size());
+	}
+
+	@Test
+	void testItemsDueBetween() {
+		assertEquals(0, PropertySelect.itemsDueBetween(startTest, startTest.plusYears(1).minusDays(1)).size());
+		assertEquals(1, PropertySelect.itemsDueBetween(startTest, startTest.plusYears(1)).size());
+		assertEquals(1, PropertySelect.itemsDueBetween(startTest.plusYears(1), startTest.plusYears(2)).size());
+	}
+
+	@Test
+	void testItemsDueBetweenInDueDateOrder() throws InterruptedException {
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		List<MonitoredItem> dueList = PropertySelect.itemsDueBetween(startTest, startTest.plusYears(1));
+		assertEquals(2, dueList.size());
+		assertEquals(testItem2, dueList.get(0));
+		assertEquals(testItem, dueList.get(1));
+		dueList = PropertySelect.itemsDueBetween(startTest, startTest.plusYears(1), 1);
+		assertEquals(1, dueList.size());
+		assertEquals(testItem2, dueList.get(0));
+	}
+
+	@Test
+	void testNoticesDueBetween() {
+		assertEquals(0,
+				PropertySelect.noticesDueBetween(startTest, startTest.plusYears(1).minusWeeks(1).minusDays(1)).size());
+		assertEquals(1, PropertySelect.noticesDueBetween(startTest, startTest.plusYears(1).minusWeeks(1)).size());
+	}
+
+	@Test
+	void testNoticesDueWithin() {
+		assertEquals(0, PropertySelect.noticesDueWithin(30).size());
+		assertEquals(1, PropertySelect.noticesDueWithin(366).size());
+		assertEquals(1, PropertySelect.itemsDueWithin(366).size());
+	}
+
+	@Test
+	void testItemsDueBetweenInvalidRange() {
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.itemsDueBetween(startTest, startTest.minusDays(1));
+		});
+		assertEquals("PropertySelect: to " + startTest.minusDays(1) + " is before from " + startTest,
+				exc.getMessage());
+		exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.noticesDueBetween(startTest, startTest, 0);
+		});
+		assertEquals("PropertySelect: limit less than 1", exc.getMessage());
+	}
+
+	@Test
+	void testWithOverdueItems() throws InterruptedException {
+		assertEquals(0, PropertySelect.withOverdueItems().size());
+		MonitoredItem overdueItem = new MonitoredItem("overdue", Period.YEARLY, 1, startTest.minusYears(2), 1,
+				Period.WEEKLY);
+		overdueItem.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(overdueItem);
+			waitForIO.wait();
+		}
+		assertEquals(1, PropertySelect.withOverdueItems().size());
+		assertEquals(0, PropertySelect.withOverdueNotices().size());
+		synchronized (waitForIO) {
+			overdueItem.actionPerformed(startTest);
+			PropertyMonitor.instance().replaceItem(overdueItem);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.withOverdueItems().size());
+	}
+
+	@Test
+	void testWithOverdueNotices() throws InterruptedException {
+		assertEquals(0, PropertySelect.withOverdueNotices().size());
+		MonitoredItem noticeItem = new MonitoredItem("notice", Period.YEARLY, 1, startTest.minusYears(1).plusDays(3), 1,
+				Period.WEEKLY);
+		noticeItem.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(noticeItem);
+			waitForIO.wait();
+		}
+		assertEquals(1, PropertySelect.withOverdueNotices().size());
+		assertEquals(0, PropertySelect.withOverdueItems().size());
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeItem(noticeItem);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.withOverdueNotices().size());
+	}
+
+	@Test
+	void testStreamOverdueItems() {
+		assertEquals(0, PropertySelect.streamOverdueItems(startTest).count());
+		assertEquals(1, PropertySelect.streamOverdueItems(startTest.plusYears(1)).count());
+	}
+
+	@Test
+	void testStreamItemsDueBetweenIsSnapshot() throws InterruptedException {
+		Stream<MonitoredItem> stream = PropertySelect.streamItemsDueBetween(startTest, startTest.plusYears(1));
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeItem(testItem);
+			waitForIO.wait();
+		}
+		assertEquals(List.of(testItem), stream.collect(Collectors.toList()));
+		assertEquals(0, PropertySelect.streamItemsDueBetween(startTest, startTest.plusYears(1)).count());
+	}
+
+	@Test
+	void testStreamNoticesDueBetween() {
+		assertEquals(1,
+				PropertySelect.streamNoticesDueBetween(startTest, startTest.plusYears(1).minusWeeks(1)).count());
+	}
+
+	@Test
+	void testItemsDuePage() throws InterruptedException {
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		Page<MonitoredItem> page = PropertySelect.itemsDuePage(startTest, startTest.plusYears(1), 0, 1);
+		assertEquals(List.of(testItem2), page.items());
+		assertEquals(2, page.total());
+		assertTrue(page.hasNext());
+		page = PropertySelect.itemsDuePage(startTest, startTest.plusYears(1), page.nextOffset(), 1);
+		assertEquals(List.of(testItem), page.items());
+		assertFalse(page.hasNext());
+		page = PropertySelect.noticesDuePage(startTest, startTest.plusYears(1), 5, 1);
+		assertEquals(0, page.items().size());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void testItemsDueAfter() throws InterruptedException {
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		Page<MonitoredItem> page = PropertySelect.itemsDueAfter(startTest, startTest.plusYears(1), null, 1);
+		assertEquals(List.of(testItem2), page.items());
+		assertTrue(page.hasNext());
+		MonitoredItem testItem3 = new MonitoredItem("item3", Period.WEEKLY, 1, startTest, 1, Period.WEEKLY);
+		testItem3.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem3);
+			waitForIO.wait();
+		}
+		page = PropertySelect.itemsDueAfter(startTest, startTest.plusYears(1), page.items().get(0), 1);
+		assertEquals(List.of(testItem), page.items());
+		assertEquals(2, page.offset());
+		assertFalse(page.hasNext());
+		page = PropertySelect.noticesDueAfter(startTest, startTest.plusYears(1), testItem, 1);
+		assertEquals(0, page.items().size());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void testPropertiesAfter() {
+		Page<Property> page = PropertySelect.propertiesAfter(null, 10);
+		assertEquals(List.of(property1), page.items());
+		page = PropertySelect.propertiesAfter(property1, 10);
+		assertEquals(0, page.items().size());
+		assertEquals(1, page.offset());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void testPropertiesPage() {
+		Page<Property> page = PropertySelect.propertiesPage(0, 10);
+		assertEquals(List.of(property1), page.items());
+		assertEquals(1, page.total());
+		assertFalse(page.hasNext());
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.propertiesPage(-1, 10);
+		});
+		assertEquals("PropertySelect: offset less than 0", exc.getMessage());
+	}
+
+	@Test
+	void testSearchInventory() {
+		assertEquals(List.of(testInventory), PropertySelect.searchInventory("Manufacturer1"));
+		assertEquals(List.of(testInventory), PropertySelect.searchInventory("model1 serialnumber1"));
+		assertEquals(0, PropertySelect.searchInventory("model1 unknown").size());
+		assertEquals(0, PropertySelect.searchInventory("").size());
+		assertEquals(property1, PropertySelect.searchInventory("supplier1").get(0).owner());
+	}
+
+	@Test
+	void testSearchInventoryByPrefix() {
+		assertEquals(List.of(testInventory), PropertySelect.searchInventoryByPrefix("SERIAL"));
+		assertEquals(List.of(testInventory), PropertySelect.searchInventoryByPrefix("manu"));
+		assertEquals(0, PropertySelect.searchInventoryByPrefix("xyz").size());
+	}
+
+	@Test
+	void testSearchInventoryAfterRemove() throws InterruptedException {
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeItem(testInventory);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.searchInventory("manufacturer1").size());
+		assertEquals(0, PropertySelect.withInventoryMatching("manufacturer1").size());
+	}
+
+	@Test
+	void testWithInventoryMatching() {
+		assertEquals(List.of(property1), PropertySelect.withInventoryMatching("inventory1"));
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.withInventoryMatching(null);
+		});
+		assertEquals("PropertySelect: text was null", exc.getMessage());
+	}
+
+	@Test
+	void testWithSerialNumber() {
+		assertEquals(List.of(property1), PropertySelect.withSerialNumber("serialnumber1"));
+		assertEquals(List.of(property1), PropertySelect.withSerialNumber(" SERIALNUMBER1 "));
+		assertEquals(0, PropertySelect.withSerialNumber("serialnumber2").size());
+	}
+
+	@Test
+	void testWithSerialNumbers() {
+		Map<String, List<Property>> result = PropertySelect
+				.withSerialNumbers(List.of("serialnumber1", "serialnumber2", "serialnumber3"));
+		assertEquals(1, result.size());
+		assertEquals(List.of(property1), result.get("serialnumber1"));
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.withSerialNumbers(Arrays.asList("serialnumber1", null));
+		});
+		assertEquals("PropertySelect: serialNumbers contained null", exc.getMessage());
+	}
+
+	@Test
+	void testWithModel() {
+		assertEquals(List.of(property1), PropertySelect.withModel("Manufacturer1", "model1"));
+		assertEquals(0, PropertySelect.withModel("manufacturer1", "model2").size());
+	}
+
+	@Test
+	void testDuplicateSerialNumbers() throws InterruptedException {
+		assertEquals(0, PropertySelect.duplicateSerialNumbers().size());
+		Property property2 = new Property(new Address(new PostCode("CW3 9SU"), linesOfAddress));
+		InventoryItem testInventory2 = new InventoryItem("inventory2", "manufacturer1", "model1", "serialnumber1",
+				"supplier1", LocalDate.now());
+		testInventory2.setOwner(property2);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testInventory2);
+			waitForIO.wait();
+		}
+		Map<String, List<Property>> duplicates = PropertySelect.duplicateSerialNumbers();
+		assertEquals(1, duplicates.size());
+		assertEquals(List.of(property1, property2), duplicates.get("SERIALNUMBER1"));
+		assertEquals(List.of(property1, property2), PropertySelect.withModel("manufacturer1", "model1"));
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeItem(testInventory2);
+			waitForIO.wait();
+		}
+		assertEquals(0, PropertySelect.duplicateSerialNumbers().size());
+	}
+
+	@Test
+	void testWithPostCode() throws InterruptedException {
+		Property property2 = new Property(new Address(new PostCode("CW30 1AB"), linesOfAddress));
+		Property property3 = new Property(
+				new Address(new PostCode("ST4 2AB"), new String[] { LINE1, "Other Town", "Other County" }));
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property3);
+			waitForIO.wait();
+		}
+		assertEquals(List.of(property1, property2), PropertySelect.withPostCodeArea("cw"));
+		assertEquals(List.of(property3), PropertySelect.withPostCodeArea("ST"));
+		assertEquals(List.of(property1), PropertySelect.withPostCodeDistrict("CW3"));
+		assertEquals(List.of(property1, property2), PropertySelect.withPostCodePrefix("CW3*"));
+		assertEquals(List.of(property1), PropertySelect.withPostCodePrefix("CW3 9"));
+		assertEquals(0, PropertySelect.withPostCodePrefix("CW4").size());
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeProperty(property2);
+			waitForIO.wait();
+		}
+		assertEquals(List.of(property1), PropertySelect.withPostCodePrefix("CW3*"));
+	}
+
+	@Test
+	void testPostCodeIgnoresDefaultLocale() throws ParserConfigurationException {
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element postCodeElement = document.createElement(XMLConstants.POSTCODE);
+		postCodeElement.setTextContent("li1 1ri");
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			PostCode postCode = new PostCode(postCodeElement);
+			assertEquals("LI1", postCode.outwardCode());
+			assertEquals("1RI", postCode.inwardCode());
+			assertEquals("LI", postCode.area());
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	void testInTownAndCounty() {
+		assertEquals(List.of(property1), PropertySelect.inTown("the town"));
+		assertEquals(List.of(property1), PropertySelect.inCounty(LINE3));
+		assertEquals(0, PropertySelect.inTown(LINE3).size());
+		assertEquals(1, PropertySelect.inTown(LINE2).get(0).monitoredItems().size());
+	}
+
+	@Test
+	void testCachedQueryReturnsCopies() {
+		long hits = PropertySelect.cache().hits();
+		List<MonitoredItem> first = PropertySelect.overdueItemsFor(startTest.plusYears(1));
+		first.get(0).actionPerformed(startTest.plusMonths(1));
+		List<MonitoredItem> second = PropertySelect.overdueItemsFor(startTest.plusYears(1));
+		assertEquals(hits + 1, PropertySelect.cache().hits());
+		assertEquals(startTest, second.get(0).getLastActionPerformed());
+		assertFalse(first.get(0) == second.get(0));
+	}
+
+	@Test
+	void testCachedQueryInvalidatedByChange() throws InterruptedException {
+		assertEquals(1, PropertySelect.monitoredItemsFor(property1).size());
+		assertEquals(1, PropertySelect.overdueItemsFor(startTest.plusYears(1)).size());
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.YEARLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		assertEquals(2, PropertySelect.monitoredItemsFor(property1).size());
+		assertEquals(2, PropertySelect.overdueItemsFor(startTest.plusYears(1)).size());
+		assertEquals(1, PropertySelect.inventoryFor(property1).size());
+	}
+
+	@Test
+	void testStatistics() throws InterruptedException {
+		PortfolioStatistics statistics = PropertyMonitor.instance().statistics();
+		assertEquals(1, statistics.itemsFor(Period.YEARLY));
+		assertEquals(0, statistics.itemsFor(Period.MONTHLY));
+		assertEquals(0, statistics.overdueItemsIn(LINE2));
+		assertEquals(1, statistics.inventoryFrom("manufacturer1"));
+		assertEquals(startTest.plusYears(1), statistics.nextDuePerProperty().get(address1));
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest.minusMonths(1).minusDays(2),
+				1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		statistics = PropertyMonitor.instance().statistics();
+		assertEquals(1, statistics.itemsFor(Period.MONTHLY));
+		assertEquals(1, statistics.overdueItemsIn(LINE2));
+		assertEquals(startTest.minusDays(2), statistics.nextDuePerProperty().get(address1));
+		assertEquals(startTest.minusDays(2), PropertyMonitor.instance().nextDueFor(property1));
+		synchronized (waitForIO) {
+			testItem2.actionPerformed(startTest);
+			PropertyMonitor.instance().replaceItem(testItem2);
+			waitForIO.wait();
+		}
+		statistics = PropertyMonitor.instance().statistics();
+		assertEquals(0, statistics.overdueItemsIn(LINE2));
+		assertEquals(startTest.plusMonths(1), statistics.nextDuePerProperty().get(address1));
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().removeProperty(property1);
+			waitForIO.wait();
+		}
+		statistics = PropertyMonitor.instance().statistics();
+		assertEquals(0, statistics.itemsFor(Period.YEARLY));
+		assertEquals(0, statistics.inventoryFrom("manufacturer1"));
+		assertTrue(statistics.nextDuePerProperty().isEmpty());
+	}
+
+	@Test
+	void testQuery() throws InterruptedException {
+		Property property2 = new Property(
+				new Address(new PostCode("ST4 2AB"), new String[] { LINE1, "Other Town", "Other County" }));
+		Property property3 = new Property(
+				new Address(new PostCode("ST4 3AB"), new String[] { LINE1, "Other Town", "Other County" }));
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest.minusMonths(1).minusDays(2),
+				1, Period.WEEKLY);
+		testItem2.setOwner(property2);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property3);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		assertEquals(List.of(property1), PropertySelect.query().inTown(LINE2).execute());
+		assertEquals(List.of(property2), PropertySelect.query().inTown("other town").withOverdueItems().execute());
+		assertEquals(List.of(property1),
+				PropertySelect.query().withItemPeriod(Period.YEARLY).withManufacturer("MANUFACTURER1").execute());
+		assertEquals(0, PropertySelect.query().inCounty(LINE3).withItemPeriod(Period.MONTHLY).execute().size());
+		assertEquals(List.of(property2, property1),
+				PropertySelect.query().withPostCodePrefix("*").orderBy(PropertyQuery.Order.NEXT_DUE).limit(2)
+						.execute());
+		QueryPlan plan = PropertySelect.query().withPostCodePrefix("ST4").withOverdueItems().explain();
+		assertEquals("overdue " + LocalDate.now(), plan.access());
+		assertEquals(1, plan.rowsExamined());
+		assertEquals(1, plan.rowsReturned());
+		assertEquals(2, plan.estimates().get("postcode ST4"));
+		assertEquals(3, plan.estimates().get("scan"));
+		plan = PropertySelect.query().withSerialNumber("SERIALNUMBER1").explain();
+		assertEquals("serialnumber SERIALNUMBER1", plan.access());
+		assertEquals(1, plan.rowsReturned());
+		assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.query().limit(0);
+		});
+	}
+
+	@Test
+	void testSoonestDue() throws InterruptedException {
+		Property property2 = new Property(
+				new Address(new PostCode("ST4 2AB"), new String[] { LINE1, "Other Town", "Other County" }));
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		MonitoredItem testItem3 = new MonitoredItem("item3", Period.WEEKLY, 1, startTest, 1, Period.WEEKLY);
+		testItem3.setOwner(property2);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem3);
+			waitForIO.wait();
+		}
+		assertEquals(List.of(testItem3, testItem2), PropertySelect.soonestDue(2));
+		assertEquals(3, PropertySelect.soonestDue(10).size());
+		assertEquals(List.of(testItem2), PropertySelect.soonestDue(property1, 1));
+		assertEquals(List.of(testItem2, testItem), PropertySelect.soonestDue(property1, 5));
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			PropertySelect.soonestDue(0);
+		});
+		assertEquals("PropertySelect: limit less than 1", exc.getMessage());
+	}
+
+	@Test
+	void testForecast() throws InterruptedException {
+		Property property2 = new Property(
+				new Address(new PostCode("ST4 2AB"), new String[] { LINE1, "Other Town", "Other County" }));
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property2);
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addProperty(property2);
+			waitForIO.wait();
+		}
+		synchronized (waitForIO) {
+			PropertyMonitor.instance().addItem(testItem2);
+			waitForIO.wait();
+		}
+		List<Occurrence> occurrences = PropertySelect.forecast(startTest, startTest.plusMonths(24))
+				.collect(Collectors.toList());
+		assertEquals(26, occurrences.size());
+		for (int index = 1; index < occurrences.size(); index++) {
+			assertFalse(occurrences.get(index).action().isBefore(occurrences.get(index - 1).action()));
+		}
+		assertEquals(24, PropertySelect.forecastForRegion("ST4", startTest, startTest.plusMonths(24)).count());
+		List<Occurrence> forProperty = PropertySelect
+				.forecastFor(property1, startTest.plusMonths(13), startTest.plusMonths(24)).collect(Collectors.toList());
+		assertEquals(1, forProperty.size());
+		assertEquals(startTest.plusYears(2), forProperty.get(0).action());
+		assertEquals(startTest.plusYears(2).minusWeeks(1), forProperty.get(0).notice());
+		assertEquals(address1, forProperty.get(0).address());
+		assertEquals(5, PropertySelect.forecast(startTest, startTest.plusYears(1000)).limit(5).count());
+	}
+
+	@Test
+	void testEvaluationContext() {
+		LocalDate future = startTest.plusYears(1).plusDays(1);
+		assertEquals(0, PropertySelect.withOverdueItems().size());
+		assertEquals(List.of(property1), PropertySelect.withOverdueItems(EvaluationContext.asOf(future)));
+		assertEquals(List.of(property1),
+				PropertySelect.withOverdueNotices(EvaluationContext.asOf(startTest.plusYears(1))));
+		Clock clock = PropertyMonitor.instance().clock();
+		try {
+			PropertyMonitor.instance()
+					.setClock(Clock.fixed(future.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+			assertEquals(future, PropertyMonitor.instance().evaluationContext().asOf());
+			assertEquals(List.of(property1), PropertySelect.withOverdueItems());
+			assertEquals(1, PropertyMonitor.instance().statistics().overdueItemsIn(LINE2));
+			assertEquals(List.of(property1), PropertySelect.query().withOverdueItems().execute());
+			assertTrue(PropertySelect.inTown(LINE2).get(0).areItemsOverdue(future));
+			assertEquals(1, PropertySelect.inTown(LINE2).get(0).overdueItems(future).size());
+		} finally {
+			PropertyMonitor.instance().setClock(clock);
+		}
+		assertEquals(0, PropertySelect.withOverdueItems().size());
+		assertThrows(IllegalArgumentException.class, () -> {
+			PropertyMonitor.instance().setClock(null);
+		});
+	}
+
+	@Test
+	void testBatchedNotifications() throws InterruptedException {
+		List<Notification> batches = new ArrayList<>();
+		NotificationListener batchListener = new NotificationListener() {
+			@Override
+			public void notify(Notification notification) {
+				if (notification.notificationType() instanceof BatchNotificationType) {
+					synchronized (batches) {
+						batches.add(notification);
+						batches.notifyAll();
+					}
+				}
+			}
+		};
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		MonitoredItem testItem3 = new MonitoredItem("item3", Period.WEEKLY, 1, startTest, 1, Period.WEEKLY);
+		testItem3.setOwner(property1);
+		PropertyMonitor.instance().flush();
+		long stored = storesCompleted();
+		NotificationCentre.addListener(batchListener);
+		try {
+			PropertyMonitor.instance().inTransaction(() -> {
+				PropertyMonitor.instance().addItem(testItem2);
+				PropertyMonitor.instance().addItem(testItem3);
+				testItem2.actionPerformed(startTest.plusDays(1));
+				PropertyMonitor.instance().replaceItem(testItem2);
+				PropertyMonitor.instance().removeItem(testItem3);
+				PropertyMonitor.instance().removeItem(testInventory);
+			});
+			awaitStoresCompleted(stored + 5);
+			synchronized (batches) {
+				long deadline = System.currentTimeMillis() + 5000;
+				while ((batches.isEmpty()
+						|| batches.get(batches.size() - 1).notificationType() != BatchNotificationType.Removed)
+						&& System.currentTimeMillis() < deadline) {
+					batches.wait(1000);
+				}
+			}
+			List<Notification> transaction = batches.subList(batches.size() - 2, batches.size());
+			assertEquals(BatchNotificationType.Add, transaction.get(0).notificationType());
+			assertEquals(List.of(testItem2), transaction.get(0).subject().get());
+			assertEquals(startTest.plusDays(1),
+					((MonitoredItem) ((List<?>) transaction.get(0).subject().get()).get(0)).getLastActionPerformed());
+			assertEquals(BatchNotificationType.Removed, transaction.get(1).notificationType());
+			assertEquals(List.of(testInventory), transaction.get(1).subject().get());
+		} finally {
+			NotificationCentre.removeListener(batchListener);
+		}
+	}
+
+	@Test
+	void testTransactionExcludesConcurrentMutations() throws InterruptedException {
+		List<Notification> batches = new ArrayList<>();
+		NotificationListener batchListener = new NotificationListener() {
+			@Override
+			public void notify(Notification notification) {
+				if (notification.notificationType() instanceof BatchNotificationType) {
+					synchronized (batches) {
+						batches.add(notification);
+						batches.notifyAll();
+					}
+				}
+			}
+		};
+		MonitoredItem testItem2 = new MonitoredItem("item2", Period.MONTHLY, 1, startTest, 1, Period.WEEKLY);
+		testItem2.setOwner(property1);
+		MonitoredItem testItem3 = new MonitoredItem("item3", Period.WEEKLY, 1, startTest, 1, Period.WEEKLY);
+		testItem3.setOwner(property1);
+		Thread mutator = new Thread(() -> PropertyMonitor.instance().addItem(testItem3));
+		PropertyMonitor.instance().flush();
+		long stored = storesCompleted();
+		NotificationCentre.addListener(batchListener);
+		try {
+			PropertyMonitor.instance().inTransaction(() -> {
+				PropertyMonitor.instance().addItem(testItem2);
+				mutator.start();
+				try {
+					mutator.join(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				assertTrue(mutator.isAlive());
+				PropertyMonitor.instance().removeItem(testInventory);
+			});
+			mutator.join(5000);
+			assertFalse(mutator.isAlive());
+			synchronized (batches) {
+				long deadline = System.currentTimeMillis() + 5000;
+				while (!batches.stream().anyMatch(batch -> batch.subject().get().equals(List.of(testItem3)))
+						&& System.currentTimeMillis() < deadline) {
+					batches.wait(1000);
+				}
+			}
+			List<Object> subjects = batches.stream().map(batch -> batch.subject().get()).collect(Collectors.toList());
+			int first = subjects.indexOf(List.of(testItem2));
+			assertTrue(first >= 0);
+			assertEquals(first + 3, batches.size());
+			assertEquals(BatchNotificationType.Add, batches.get(first).notificationType());
+			assertEquals(BatchNotificationType.Removed, batches.get(first + 1).notificationType());
+			assertEquals(List.of(testInventory), batches.get(first + 1).subject().get());
+			assertEquals(BatchNotificationType.Add, batches.get(first + 2).notificationType());
+			assertEquals(List.of(testItem3), batches.get(first + 2).subject().get());
+			awaitStoresCompleted(stored + 3);
+		} finally {
+			NotificationCentre.removeListener(batchListener);
+		}
+	}
+
+	private long storesCompleted() {
+		synchronized (waitForIO) {
+			return storesCompleted;
+		}
+	}
+
+	private void awaitStoresCompleted(long target) throws InterruptedException {
+		synchronized (waitForIO) {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (storesCompleted < target && System.currentTimeMillis() < deadline) {
+				waitForIO.wait(1000);
+			}
+		}
+	}
+
 	private void addObjects() throws InterruptedException {
 		synchronized (waitForIO) {
 			PropertyMonitor.instance().addProperty(property1);
@@ -172,6 +856,7 @@ class PropertySelectTest {
 
 	private void storeData() {
 		synchronized (waitForIO) {
+			storesCompleted++;
 			waitForIO.notifyAll();
 		}
 	}
@@ -0,0 +1,182 @@
+package com.brailsoft.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.brailsoft.base.Notification;
+import com.brailsoft.base.NotificationListener;
+
+class QueuedListenerTest {
+	private static final String[] linesOfAddress = new String[] { "99 The Street", "The Town", "The County" };
+
+	private final List<Notification> received = Collections.synchronizedList(new ArrayList<>());
+	private CountDownLatch entered;
+	private CountDownLatch release;
+	private QueuedListener queued = null;
+
+	private final NotificationListener slowListener = new NotificationListener() {
+		@Override
+		public void notify(Notification notification) {
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(notification);
+		}
+	};
+
+	@BeforeEach
+	void setUp() throws Exception {
+		received.clear();
+		entered = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		release.countDown();
+		if (queued != null) {
+			queued.close();
+		}
+	}
+
+	private Property property(int index) {
+		return new Property(new Address(new PostCode("CW3 9ST"),
+				new String[] { index + " The Street", linesOfAddress[1], linesOfAddress[2] }));
+	}
+
+	private Notification added(int index) {
+		return new Notification(PropertyNotificationType.Add, this, property(index));
+	}
+
+	private void blockDelivery() throws InterruptedException {
+		queued.notify(added(0));
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testDropOldest() throws InterruptedException {
+		queued = new QueuedListener(slowListener, 2, QueuedListener.Overflow.DROP_OLDEST);
+		blockDelivery();
+		Notification first = added(1);
+		Notification second = added(2);
+		Notification third = added(3);
+		queued.notify(first);
+		queued.notify(second);
+		queued.notify(third);
+		assertEquals(2, queued.depth());
+		assertEquals(1, queued.dropped());
+		release.countDown();
+		queued.flush();
+		assertEquals(0, queued.depth());
+		assertEquals(3, queued.delivered());
+		assertEquals(List.of(second, third), received.subList(1, 3));
+	}
+
+	@Test
+	void testConflate() throws InterruptedException {
+		queued = new QueuedListener(slowListener, 2, QueuedListener.Overflow.CONFLATE);
+		blockDelivery();
+		Notification add = added(1);
+		Notification other = added(2);
+		Notification changed = new Notification(PropertyNotificationType.Changed, this, property(1));
+		queued.notify(add);
+		queued.notify(other);
+		queued.notify(changed);
+		assertEquals(2, queued.depth());
+		assertEquals(1, queued.conflated());
+		assertEquals(0, queued.dropped());
+		release.countDown();
+		queued.flush();
+		assertEquals(3, received.size());
+		assertEquals(PropertyNotificationType.Add, received.get(1).notificationType());
+		assertSame(changed.subject().get(), received.get(1).subject().get());
+		assertEquals(other, received.get(2));
+	}
+
+	@Test
+	void testConflateAddRemoved() throws InterruptedException {
+		queued = new QueuedListener(slowListener, 2, QueuedListener.Overflow.CONFLATE);
+		blockDelivery();
+		Notification other = added(2);
+		queued.notify(added(1));
+		queued.notify(other);
+		queued.notify(new Notification(PropertyNotificationType.Removed, this, property(1)));
+		assertEquals(1, queued.depth());
+		assertEquals(1, queued.conflated());
+		assertEquals(0, queued.dropped());
+		release.countDown();
+		queued.flush();
+		assertEquals(List.of(other), received.subList(1, received.size()));
+	}
+
+	@Test
+	void testConflateOnlyWhenFull() throws InterruptedException {
+		queued = new QueuedListener(slowListener, 2, QueuedListener.Overflow.CONFLATE);
+		blockDelivery();
+		Notification add = added(1);
+		Notification changed = new Notification(PropertyNotificationType.Changed, this, property(1));
+		Notification overdue = new Notification(ScheduleNotificationType.Overdue, this, property(1));
+		queued.notify(add);
+		queued.notify(changed);
+		assertEquals(2, queued.depth());
+		assertEquals(0, queued.conflated());
+		queued.notify(overdue);
+		assertEquals(2, queued.depth());
+		assertEquals(0, queued.conflated());
+		assertEquals(1, queued.dropped());
+		release.countDown();
+		queued.flush();
+		assertEquals(List.of(changed, overdue), received.subList(1, received.size()));
+	}
+
+	@Test
+	void testBlock() throws InterruptedException {
+		queued = new QueuedListener(slowListener, 1, QueuedListener.Overflow.BLOCK);
+		blockDelivery();
+		queued.notify(added(1));
+		Thread producer = new Thread(() -> queued.notify(added(2)));
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+		assertEquals(1, queued.depth());
+		release.countDown();
+		producer.join(5000);
+		assertFalse(producer.isAlive());
+		queued.flush();
+		assertEquals(3, received.size());
+		assertEquals(0, queued.dropped());
+		assertEquals(1, queued.maxDepth());
+	}
+
+	@Test
+	void testInvalidArguments() {
+		Exception exc = assertThrows(IllegalArgumentException.class, () -> {
+			new QueuedListener(null);
+		});
+		assertEquals("QueuedListener: delegate was null", exc.getMessage());
+		exc = assertThrows(IllegalArgumentException.class, () -> {
+			new QueuedListener(slowListener, 0, QueuedListener.Overflow.BLOCK);
+		});
+		assertEquals("QueuedListener: capacity less than 1", exc.getMessage());
+		exc = assertThrows(IllegalArgumentException.class, () -> {
+			new QueuedListener(slowListener, 1, null);
+		});
+		assertEquals("QueuedListener: overflow was null", exc.getMessage());
+	}
+}